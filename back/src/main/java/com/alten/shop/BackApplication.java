@@ -2,11 +2,15 @@ package com.alten.shop;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableAsync
-@SpringBootApplication
+@EnableScheduling // flush périodique des compteurs de consultations (ProductViewCounter)
+// pool R2DBC géré par ReactiveDataSourceConfig : un ConnectionFactory auto-configuré désactiverait la DataSource JDBC
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableJpaAuditing(auditorAwareRef = "auditAware") //Activation du mode audit
 public class BackApplication {
 
@@ -1,5 +1,6 @@
 package com.alten.shop.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -11,19 +12,38 @@ import java.util.concurrent.Executor;
  * Configuration du gestionnaire de tâches asynchrones.
  * Utilise un ThreadPool dédié pour exécuter les méthodes annotées avec @Async.
  * Cette approche est particulièrement utile pour Les envois d'email (afin de ne pas bloquer la réponse HTTP)
+ * <p>
+ * Mode d'exécution ({@code spring.threads.virtual.enabled}, partagé avec Tomcat) :
+ * - false : pool de threads plateforme borné (5..10 threads, file de 100 tâches) ;
+ * - true  : 10 threads virtuels, même file de 100 tâches : même plafond de tâches simultanées
+ *   pour ne pas saturer le serveur SMTP ni le pool de connexions.
+ * Dans les deux modes, la soumission met la tâche en file et rend la main : le thread de la requête HTTP
+ * n'attend jamais qu'une tâche se termine.
+ * </p>
  */
 @Configuration
 @EnableAsync //Activation de la gestion des tâches asynchrones
 public class AsyncConfig {
 
+    /** Nombre maximal de tâches asynchrones exécutées simultanément (dans les deux modes). */
+    private static final int MAX_CONCURRENT_TASKS = 10;
+
     //création d'un pool de threads qui exécutera les différentes tâches asynchrones
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        // Nombre minimum de threads toujours disponibles (même si aucune tâche n'est soumise).
-        executor.setCorePoolSize(5); //5 threads minimum (On définit la taille du pool à 5 thread)
+        if (virtualThreads) {
+            // Threads virtuels : les appels bloquants (SMTP, JDBC) libèrent leur thread porteur.
+            // Presque gratuits au repos : les 10 sont des threads de base, libérés après inactivité.
+            executor.setVirtualThreads(true);
+            executor.setCorePoolSize(MAX_CONCURRENT_TASKS);
+            executor.setAllowCoreThreadTimeOut(true);
+        } else {
+            // Nombre minimum de threads toujours disponibles (même si aucune tâche n'est soumise).
+            executor.setCorePoolSize(5); //5 threads minimum (On définit la taille du pool à 5 thread)
+        }
         // Nombre maximum de threads pouvant être créés si la charge augmente.
-        executor.setMaxPoolSize(10);  // 10 threads maximum
+        executor.setMaxPoolSize(MAX_CONCURRENT_TASKS);  // 10 threads maximum
         // Nombre maximum de tâches qui peuvent être mises en file d'attente en attendant un thread libre.
         executor.setQueueCapacity(100); // 100 tâches peuvent attendre (On définit la capacité de la file d'attente à 100)
         executor.setThreadNamePrefix("AsyncExecutor-"); //Définit le préfixe des noms des threads.
@@ -59,8 +59,11 @@ public class BeansConfig {
                 HttpHeaders.ORIGIN,
                 HttpHeaders.CONTENT_TYPE,
                 HttpHeaders.ACCEPT,
-                HttpHeaders.AUTHORIZATION
+                HttpHeaders.AUTHORIZATION,
+                HttpHeaders.IF_NONE_MATCH   // requêtes conditionnelles (ETag produits)
         ));
+        //En-têtes de réponse lisibles par le client JavaScript (l'ETag sert aux requêtes conditionnelles)
+        config.setExposedHeaders(Collections.singletonList(HttpHeaders.ETAG));
         config.setAllowedMethods(Arrays.asList(
                 "GET",
                 "POST",
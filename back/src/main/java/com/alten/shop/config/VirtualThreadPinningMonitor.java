@@ -0,0 +1,108 @@
+package com.alten.shop.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Détection de l'épinglage (pinning) des threads virtuels sur leur thread porteur.
+ * <p>
+ * Un thread virtuel bloqué dans un bloc {@code synchronized} (ou un appel natif) immobilise son
+ * thread porteur : au-delà de quelques cas, le serveur retombe à la concurrence d'un petit pool.
+ * Ce moniteur écoute l'événement JFR {@code jdk.VirtualThreadPinned} en continu et :
+ * - compte chaque épinglage dans {@code jvm.threads.virtual.pinned}, étiqueté par la première frame
+ *   applicative ({@code com.alten.shop}) de la pile, ou {@code external} ;
+ * - journalise la pile la première fois qu'un emplacement est rencontré.
+ * </p>
+ * Actif uniquement en mode threads virtuels ({@code spring.threads.virtual.enabled=true}).
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.alten.shop.";
+    private static final int LOGGED_FRAMES = 15;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${application.virtual-threads.pinning-threshold:20ms}") Duration threshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void report(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String location = stackTrace == null ? "unknown" : applicationFrame(stackTrace);
+
+        Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread pinned to its carrier thread longer than the threshold")
+                .tag("location", location)
+                .register(meterRegistry)
+                .increment();
+
+        if (reportedLocations.add(location)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), location,
+                    stackTrace == null ? "(no stack trace)" : format(stackTrace));
+        }
+    }
+
+    /** Première frame appartenant au code de l'application, sinon "external". */
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "external";
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + "(line " + frame.getLineNumber() + ")")
+                .collect(Collectors.joining("\n"));
+    }
+}
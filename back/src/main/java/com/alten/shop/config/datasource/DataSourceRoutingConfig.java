@@ -0,0 +1,73 @@
+package com.alten.shop.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routage lecture/écriture entre le primaire ({@code spring.datasource.*}) et les réplicas
+ * ({@code application.datasource.replicas}).
+ * <p>
+ * Actif uniquement si au moins un réplica est déclaré ; sinon la DataSource auto-configurée
+ * par Spring Boot est utilisée telle quelle.<br>
+ * Les réglages {@code spring.datasource.hikari.*} s'appliquent à tous les pools.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean(defaultCandidate = false)
+    public ReadReplicaRoutingDataSource routingDataSource(
+            DataSourceProperties primaryProperties,
+            ReplicaDataSourceProperties replicaProperties,
+            Environment environment
+    ) {
+        String driver = primaryProperties.determineDriverClassName();
+        HikariDataSource primary = pool("primary", driver, primaryProperties.determineUrl(),
+                primaryProperties.determineUsername(), primaryProperties.determinePassword(), environment);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaDataSourceProperties.Replica replica : replicaProperties.getReplicas()) {
+            replicas.add(pool("replica-" + (replicas.size() + 1), driver, replica.getUrl(),
+                    replica.getUsername(), replica.getPassword(), environment));
+        }
+        return new ReadReplicaRoutingDataSource(primary, replicas,
+                new ReadYourWritesTracker(replicaProperties.getReadYourWritesWindow()));
+    }
+
+    /**
+     * DataSource de l'application (JPA, JdbcTemplate, Flyway) : la connexion réelle n'est obtenue
+     * qu'à la première requête SQL, une fois l'attribut readOnly de la transaction connu.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource pool(String name, String driver, String url, String username, String password,
+                                         Environment environment) {
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setDriverClassName(driver);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+}
@@ -0,0 +1,40 @@
+package com.alten.shop.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Pool dédié à l'export du catalogue ({@code GET /products/export}).
+ * <p>
+ * Mêmes base et identifiants que {@code spring.datasource.*}, avec {@code useCursorFetch=true} : le driver MySQL
+ * lit le résultat par curseur serveur, {@code fetch-size} lignes à la fois. L'option n'est pas posée sur l'URL
+ * partagée, où elle ferait passer toutes les requêtes par des prepared statements serveur.<br>
+ * Le bean n'est pas candidat à l'injection par type : JPA, Flyway et JdbcTemplate gardent la DataSource principale.
+ * </p>
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource exportDataSource(
+            DataSourceProperties properties,
+            @Value("${application.product.export.pool-size:2}") int poolSize
+    ) {
+        String url = properties.determineUrl();
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("export");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true");
+        dataSource.setUsername(properties.determineUsername());
+        dataSource.setPassword(properties.determinePassword());
+        dataSource.setReadOnly(true);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        return dataSource;
+    }
+}
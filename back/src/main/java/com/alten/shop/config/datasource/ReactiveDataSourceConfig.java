@@ -0,0 +1,59 @@
+package com.alten.shop.config.datasource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * Accès réactif à la base ({@code spring.r2dbc.*}) pour l'API de lecture non bloquante.
+ * <p>
+ * Le pool R2DBC n'est volontairement pas exposé comme bean {@code ConnectionFactory} :
+ * sa seule présence ferait renoncer Spring Boot à la DataSource JDBC (JPA, Flyway, JdbcTemplate),
+ * d'où l'exclusion de {@code R2dbcAutoConfiguration}. Seul le {@link DatabaseClient} est publié.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveDataSourceConfig implements DisposableBean {
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(R2dbcProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (StringUtils.hasText(properties.getUsername())) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+
+        R2dbcProperties.Pool poolProperties = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("r2dbc-pool")
+                .initialSize(poolProperties.getInitialSize())
+                .maxSize(poolProperties.getMaxSize())
+                .maxIdleTime(poolProperties.getMaxIdleTime());
+        if (StringUtils.hasText(poolProperties.getValidationQuery())) {
+            configuration.validationQuery(poolProperties.getValidationQuery());
+        }
+        pool = new ConnectionPool(configuration.build());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
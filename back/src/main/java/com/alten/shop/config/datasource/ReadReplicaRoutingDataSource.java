@@ -0,0 +1,90 @@
+package com.alten.shop.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * DataSource routant chaque transaction vers le primaire ou un réplica en lecture.
+ * <p>
+ * - Transaction {@code readOnly = true} : réplica (tourniquet), sauf si l'utilisateur est dans sa
+ *   fenêtre read-your-writes ({@link ReadYourWritesTracker}).<br>
+ * - Toute autre transaction, ou accès hors transaction (Flyway, scripts SQL d'init…) : primaire.<br>
+ * - Lectures dont le résultat est partagé entre utilisateurs (caches) : primaire, via {@link #onPrimary(Supplier)}.
+ * </p>
+ * Doit être enveloppée dans une {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} :
+ * le gestionnaire de transactions demande sa connexion avant de publier l'attribut readOnly,
+ * le choix de la cible doit donc être différé jusqu'à la première requête SQL.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA_PREFIX = "replica-";
+
+    /** Positionné par {@link #onPrimary(Supplier)} sur le thread courant. */
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final int replicaCount;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker) {
+        this.replicaCount = replicas.size();
+        this.tracker = tracker;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(REPLICA_PREFIX + (i + 1), replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                tracker.onWriteTransaction();
+            }
+            return PRIMARY;
+        }
+        if (replicaCount == 0 || FORCE_PRIMARY.get() != null || tracker.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return REPLICA_PREFIX + (Math.floorMod(next.getAndIncrement(), replicaCount) + 1);
+    }
+
+    /**
+     * Exécute l'action en lisant sur le primaire, même dans des transactions {@code readOnly} : pour un résultat
+     * mis en cache et servi à tous, qui ne doit pas figer le retard d'un réplica. Sans effet sans routage.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            }
+        }
+    }
+
+    /** Ferme les pools cibles (primaire et réplicas) à l'arrêt du contexte. */
+    @Override
+    public void close() throws Exception {
+        for (DataSource target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
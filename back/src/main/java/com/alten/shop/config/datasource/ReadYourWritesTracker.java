@@ -0,0 +1,64 @@
+package com.alten.shop.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Fenêtre « read-your-writes » : après une transaction d'écriture validée, les lectures de
+ * l'utilisateur concerné restent sur le primaire pendant une courte durée, le temps que les
+ * réplicas rattrapent leur retard de réplication.
+ * <p>Les autres utilisateurs continuent de lire sur les réplicas.</p>
+ */
+public class ReadYourWritesTracker {
+
+    /** Utilisateurs ayant écrit récemment (l'entrée expire à la fin de la fenêtre). */
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /** Vrai si l'utilisateur courant a validé une écriture dans la fenêtre. */
+    public boolean isPinnedToPrimary() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    /**
+     * À appeler quand une transaction d'écriture obtient sa connexion : la fenêtre de l'utilisateur
+     * courant sera ouverte si, et seulement si, la transaction est validée.
+     */
+    public void onWriteTransaction() {
+        String user = currentUser();
+        if (user == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.alten.shop.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas MySQL en lecture ({@code application.datasource.*}).
+ * Le primaire reste configuré par {@code spring.datasource.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.datasource")
+public class ReplicaDataSourceProperties {
+
+    /** Réplicas en lecture, utilisés à tour de rôle par les transactions readOnly. */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Durée pendant laquelle un utilisateur qui vient d'écrire relit sur le primaire. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
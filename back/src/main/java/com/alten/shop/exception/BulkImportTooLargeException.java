@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsqu'un import en masse dépasse le nombre de lignes autorisé par requête.
+ */
+public class BulkImportTooLargeException extends RuntimeException {
+    public BulkImportTooLargeException(int rows, int maxRows) {
+        super("Bulk import of " + rows + " rows exceeds the limit of " + maxRows + " rows per request");
+    }
+}
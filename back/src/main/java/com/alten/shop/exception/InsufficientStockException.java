@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsque le stock d'un produit ne couvre pas la quantité demandée.
+ */
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(Long id, int requested) {
+        super("Insufficient stock for product with id [" + id + "]: " + requested + " requested");
+    }
+}
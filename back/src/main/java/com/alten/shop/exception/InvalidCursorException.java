@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsque le curseur de pagination fourni par le client est illisible ou altéré.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid pagination cursor: '" + cursor + "'");
+    }
+}
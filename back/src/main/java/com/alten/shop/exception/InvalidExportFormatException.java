@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsque le format d'export demandé n'est pas supporté.
+ */
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException(String format) {
+        super("Invalid export format: '" + format + "'");
+    }
+}
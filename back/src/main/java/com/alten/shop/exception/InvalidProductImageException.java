@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsqu'un fichier envoyé comme image produit est vide ou n'est pas dans un format accepté.
+ */
+public class InvalidProductImageException extends RuntimeException {
+    public InvalidProductImageException(String message) {
+        super(message);
+    }
+}
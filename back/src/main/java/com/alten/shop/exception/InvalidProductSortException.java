@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsque l'ordre de tri demandé pour une liste de produits n'est pas supporté.
+ */
+public class InvalidProductSortException extends RuntimeException {
+    public InvalidProductSortException(String sort) {
+        super("Invalid product sort: '" + sort + "'");
+    }
+}
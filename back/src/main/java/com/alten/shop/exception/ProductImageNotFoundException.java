@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsqu'une image produit (version ou variante) est introuvable sur le disque.
+ */
+public class ProductImageNotFoundException extends RuntimeException {
+    public ProductImageNotFoundException(Long productId, String version, String variant) {
+        super("Image [" + version + "/" + variant + "] of product with id [" + productId + "] not found");
+    }
+}
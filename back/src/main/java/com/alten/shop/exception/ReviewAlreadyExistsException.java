@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsque l'utilisateur a déjà laissé un avis sur ce produit.
+ */
+public class ReviewAlreadyExistsException extends RuntimeException {
+    public ReviewAlreadyExistsException(Long productId, String author) {
+        super("User [" + author + "] has already reviewed product with id [" + productId + "]");
+    }
+}
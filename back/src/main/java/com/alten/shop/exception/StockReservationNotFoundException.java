@@ -0,0 +1,10 @@
+package com.alten.shop.exception;
+
+/**
+ * Levée lorsqu'une réservation de stock est introuvable (expirée, déjà libérée ou confirmée, ou d'un autre utilisateur).
+ */
+public class StockReservationNotFoundException extends RuntimeException {
+    public StockReservationNotFoundException(String id) {
+        super("Stock reservation [" + id + "] not found");
+    }
+}
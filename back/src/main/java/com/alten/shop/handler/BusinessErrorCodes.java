@@ -23,7 +23,16 @@ public enum BusinessErrorCodes {
     PRODUCT_STATUS_INVALID(310, BAD_REQUEST, "Invalid inventory status. Allowed: INSTOCK, LOWSTOCK, OUTOFSTOCK"),
 
 
-    OPTIMISTIC_LOCK_FAILURE(311, HttpStatus.CONFLICT, "Optimistic lock failure: product was updated by another user");
+    OPTIMISTIC_LOCK_FAILURE(311, HttpStatus.CONFLICT, "Optimistic lock failure: product was updated by another user"),
+    INVALID_CURSOR(312, BAD_REQUEST, "Invalid or corrupted pagination cursor"),
+    INVALID_EXPORT_FORMAT(313, BAD_REQUEST, "Invalid export format. Allowed: NDJSON, CSV"),
+    BULK_IMPORT_TOO_LARGE(314, PAYLOAD_TOO_LARGE, "Too many products in a single bulk import"),
+    INVALID_PRODUCT_SORT(315, BAD_REQUEST, "Invalid product sort. Allowed: NEWEST, PRICE_ASC, PRICE_DESC, RATING_DESC, POPULAR"),
+    INVALID_PRODUCT_IMAGE(316, BAD_REQUEST, "Invalid product image. Allowed: JPEG, PNG, GIF, WEBP"),
+    PRODUCT_IMAGE_NOT_FOUND(317, NOT_FOUND, "Product image not found"),
+    REVIEW_ALREADY_EXISTS(318, HttpStatus.CONFLICT, "Product already reviewed by this user"),
+    INSUFFICIENT_STOCK(319, HttpStatus.CONFLICT, "Insufficient stock for the requested quantity"),
+    STOCK_RESERVATION_NOT_FOUND(320, NOT_FOUND, "Stock reservation not found or expired");
 
 
 
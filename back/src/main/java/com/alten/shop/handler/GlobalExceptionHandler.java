@@ -185,6 +185,104 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity
+                .status(INVALID_CURSOR.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(INVALID_CURSOR.getCode())
+                        .businessErrorDescription(INVALID_CURSOR.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(InvalidExportFormatException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidExportFormat(InvalidExportFormatException ex) {
+        return ResponseEntity
+                .status(INVALID_EXPORT_FORMAT.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(INVALID_EXPORT_FORMAT.getCode())
+                        .businessErrorDescription(INVALID_EXPORT_FORMAT.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(InvalidProductSortException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidProductSort(InvalidProductSortException ex) {
+        return ResponseEntity
+                .status(INVALID_PRODUCT_SORT.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(INVALID_PRODUCT_SORT.getCode())
+                        .businessErrorDescription(INVALID_PRODUCT_SORT.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(InvalidProductImageException.class)
+    public ResponseEntity<ExceptionResponse> handleInvalidProductImage(InvalidProductImageException ex) {
+        return ResponseEntity
+                .status(INVALID_PRODUCT_IMAGE.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(INVALID_PRODUCT_IMAGE.getCode())
+                        .businessErrorDescription(INVALID_PRODUCT_IMAGE.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(ProductImageNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleProductImageNotFound(ProductImageNotFoundException ex) {
+        return ResponseEntity
+                .status(PRODUCT_IMAGE_NOT_FOUND.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(PRODUCT_IMAGE_NOT_FOUND.getCode())
+                        .businessErrorDescription(PRODUCT_IMAGE_NOT_FOUND.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(BulkImportTooLargeException.class)
+    public ResponseEntity<ExceptionResponse> handleBulkImportTooLarge(BulkImportTooLargeException ex) {
+        return ResponseEntity
+                .status(BULK_IMPORT_TOO_LARGE.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(BULK_IMPORT_TOO_LARGE.getCode())
+                        .businessErrorDescription(BULK_IMPORT_TOO_LARGE.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(ReviewAlreadyExistsException.class)
+    public ResponseEntity<ExceptionResponse> handleReviewAlreadyExists(ReviewAlreadyExistsException ex) {
+        return ResponseEntity
+                .status(REVIEW_ALREADY_EXISTS.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(REVIEW_ALREADY_EXISTS.getCode())
+                        .businessErrorDescription(REVIEW_ALREADY_EXISTS.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ExceptionResponse> handleInsufficientStock(InsufficientStockException ex) {
+        return ResponseEntity
+                .status(INSUFFICIENT_STOCK.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(INSUFFICIENT_STOCK.getCode())
+                        .businessErrorDescription(INSUFFICIENT_STOCK.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(StockReservationNotFoundException.class)
+    public ResponseEntity<ExceptionResponse> handleStockReservationNotFound(StockReservationNotFoundException ex) {
+        return ResponseEntity
+                .status(STOCK_RESERVATION_NOT_FOUND.getHttpStatus())
+                .body(ExceptionResponse.builder()
+                        .businessErrorCode(STOCK_RESERVATION_NOT_FOUND.getCode())
+                        .businessErrorDescription(STOCK_RESERVATION_NOT_FOUND.getDescription())
+                        .error(ex.getMessage())
+                        .build());
+    }
 
 
     //Exception : Gestionnaire général pour toutes les exceptions non spécifiées.
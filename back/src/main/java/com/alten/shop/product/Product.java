@@ -4,6 +4,8 @@ import com.alten.shop.common.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Représente un produit du catalogue e-commerce.
@@ -13,6 +15,19 @@ import lombok.experimental.SuperBuilder;
  *  - Cohérence du statut lors d’une mise à jour
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // les écritures JDBC en masse évincent explicitement leurs lignes
+@Table(indexes = {
+        // pagination par clé (seek) : ORDER BY createdDate DESC, id DESC
+        @Index(name = "idx_product_created_date_id", columnList = "createdDate, id"),
+        // combinaisons de filtres de ProductSpecifications, triées par createdDate sans filesort
+        @Index(name = "idx_product_category_created", columnList = "category, createdDate, id"),
+        @Index(name = "idx_product_status_created", columnList = "inventoryStatus, createdDate, id"),
+        @Index(name = "idx_product_category_status_created", columnList = "category, inventoryStatus, createdDate, id"),
+        // tri par popularité (sort=POPULAR)
+        @Index(name = "idx_product_view_count_id", columnList = "viewCount, id"),
+        @Index(name = "idx_product_category_view_count", columnList = "category, viewCount, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -52,12 +67,44 @@ public class Product extends BaseEntity {
     @Column(nullable = false)
     private InventoryStatus inventoryStatus;
 
-    /** Note moyenne (0..5). */
-    @Column(nullable = false)
+    /**
+     * Note moyenne (0..5) = ratingSum / ratingCount.
+     * Jamais réécrite par JPA : maintenue par le SQL d'ajout d'un avis (ProductJdbcRepository#addRating).
+     */
+    @Column(nullable = false, updatable = false)
     private Double rating;
 
+    /** Somme des notes des avis (agrégat incrémental, écrit uniquement en SQL). */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long ratingSum;
+
+    /** Nombre d'avis (agrégat incrémental, écrit uniquement en SQL). */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long ratingCount;
+
+    /**
+     * Nombre de consultations du détail produit.
+     * Jamais écrit par JPA : seul le flush périodique de ProductViewCounter l'incrémente (défaut SQL 0).
+     */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long viewCount;
+
     /** Enum des statuts d’inventaire. */
-    public enum InventoryStatus { INSTOCK, LOWSTOCK, OUTOFSTOCK }
+    public enum InventoryStatus {
+        INSTOCK, LOWSTOCK, OUTOFSTOCK;
+
+        /** Seuil en dessous duquel un produit en stock est signalé LOWSTOCK. */
+        public static final int LOW_STOCK_THRESHOLD = 10;
+
+        /**
+         * Statut dérivé de la quantité : 0 -> OUTOFSTOCK, &lt;10 -> LOWSTOCK, sinon INSTOCK.
+         * Règle reprise telle quelle par la mise à jour en masse SQL (ProductJdbcRepository).
+         */
+        public static InventoryStatus fromQuantity(int quantity) {
+            if (quantity == 0) return OUTOFSTOCK;
+            return quantity < LOW_STOCK_THRESHOLD ? LOWSTOCK : INSTOCK;
+        }
+    }
 
 
 
@@ -66,15 +113,13 @@ public class Product extends BaseEntity {
      * Assure des valeurs par défaut cohérentes à l'insertion.
      * - quantity par défaut à 0
      * - rating par défaut à 0.0
-     * - inventoryStatus dérivé de quantity
+     * - inventoryStatus dérivé de quantity, même règle qu'à la mise à jour ({@link InventoryStatus#fromQuantity})
      */
     @PrePersist
     public void prePersistDefaults() {
         if (quantity == null) quantity = 0;
         if (rating == null) rating = 0.0;
-        if (inventoryStatus == null) {
-            inventoryStatus = (quantity > 0) ? InventoryStatus.INSTOCK : InventoryStatus.OUTOFSTOCK;
-        }
+        inventoryStatus = InventoryStatus.fromQuantity(quantity);
     }
 
     /**
@@ -84,13 +129,7 @@ public class Product extends BaseEntity {
     @PreUpdate
     public void preUpdateConsistency() {
         if (quantity == null) quantity = 0;
-        if (quantity == 0) {
-            inventoryStatus = InventoryStatus.OUTOFSTOCK;
-        } else if (quantity < 10) {
-            inventoryStatus = InventoryStatus.LOWSTOCK;
-        } else {
-            inventoryStatus = InventoryStatus.INSTOCK;
-        }
+        inventoryStatus = InventoryStatus.fromQuantity(quantity);
     }
 
 }
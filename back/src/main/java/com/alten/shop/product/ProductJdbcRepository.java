@@ -0,0 +1,267 @@
+package com.alten.shop.product;
+
+import com.alten.shop.product.Product.InventoryStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Écritures produit en masse, en JDBC direct (hors contexte de persistance).
+ * <p>
+ * Les lignes sont envoyées par lots ; avec {@code rewriteBatchedStatements=true}, le driver MySQL
+ * réécrit chaque lot en un unique {@code INSERT ... VALUES (...), (...)} et renvoie les clés AUTO_INCREMENT
+ * générées. L'id IDENTITY de {@link com.alten.shop.common.BaseEntity} reste donc compatible avec le batching.
+ * </p>
+ * Participe à la transaction JPA courante (même connexion).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO product (code, name, description, image, category, price, quantity, internal_reference,
+                                 shell_id, inventory_status, rating, created_date, created_by, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    /**
+     * Mise à jour prix/stock ensembliste : le statut est recalculé dans la même instruction
+     * (règle de {@link InventoryStatus#fromQuantity}) et la version incrémentée pour invalider les caches.
+     * La nouvelle quantité est re-liée dans le CASE plutôt que relue depuis la colonne, pour ne pas dépendre
+     * de l'ordre d'évaluation des affectations (propre à MySQL).
+     */
+    private static final String UPDATE_STOCK_SQL = """
+            UPDATE product
+            SET price              = COALESCE(?, price),
+                quantity           = COALESCE(?, quantity),
+                inventory_status   = CASE WHEN COALESCE(?, quantity) = 0 THEN 'OUTOFSTOCK'
+                                          WHEN COALESCE(?, quantity) < %d THEN 'LOWSTOCK'
+                                          ELSE 'INSTOCK' END,
+                version            = version + 1,
+                last_modified_date = ?,
+                last_modified_by   = ?
+            WHERE id = ?""".formatted(InventoryStatus.LOW_STOCK_THRESHOLD);
+
+    /**
+     * Variation atomique du stock (achat ou réassort), sans lecture préalable ni version attendue :
+     * la condition {@code quantity + delta >= 0} est évaluée sur la ligne verrouillée, deux décréments concurrents
+     * ne peuvent donc ni se perdre ni rendre le stock négatif. Le statut est affecté avant la quantité, à partir
+     * de l'ancienne valeur, pour ne pas dépendre de l'ordre d'évaluation des affectations (propre à MySQL).
+     */
+    private static final String ADJUST_STOCK_SQL = """
+            UPDATE product
+            SET inventory_status   = CASE WHEN quantity + ? = 0 THEN 'OUTOFSTOCK'
+                                          WHEN quantity + ? < %d THEN 'LOWSTOCK'
+                                          ELSE 'INSTOCK' END,
+                quantity           = quantity + ?,
+                version            = version + 1,
+                last_modified_date = ?,
+                last_modified_by   = ?
+            WHERE id = ? AND quantity + ? >= 0""".formatted(InventoryStatus.LOW_STOCK_THRESHOLD);
+
+    /**
+     * Ajout des consultations comptées en mémoire depuis le dernier flush ; ni version ni audit modifiés
+     * (la popularité n'est pas une modification du produit : caches et ETag restent valides).
+     */
+    private static final String ADD_VIEWS_SQL = "UPDATE product SET view_count = view_count + ? WHERE id = ?";
+
+    /**
+     * Ajout d'un avis à l'agrégat de note, en une instruction (verrou de ligne jusqu'au commit de l'avis).
+     * La moyenne est affectée en premier, à partir des anciennes somme et nombre : le résultat est le même
+     * que les affectations soient évaluées dans l'ordre (MySQL) ou sur l'état initial de la ligne (SQL standard).
+     * La version est incrémentée pour invalider les caches du produit.
+     */
+    private static final String ADD_RATING_SQL = """
+            UPDATE product
+            SET rating       = (rating_sum + ?) / (rating_count + 1),
+                rating_sum   = rating_sum + ?,
+                rating_count = rating_count + 1,
+                version      = version + 1
+            WHERE id = ?""";
+
+    /** Stock courant d'un produit et version de la ligne lue. */
+    public record StockLevel(int quantity, long version) {
+    }
+
+    /** Nouvelles valeurs de prix/stock d'un produit (null = inchangé). */
+    public record StockChange(long id, Double price, Integer quantity) {
+    }
+
+    /** Consultations à ajouter au compteur persistant d'un produit. */
+    public record ViewIncrement(long id, long views) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insère les produits par lots de {@code batchSize} lignes.
+     * Les champs d'audit, la version et les valeurs par défaut doivent déjà être renseignés.
+     *
+     * @return les identifiants générés, dans l'ordre de la liste
+     */
+    public List<Long> insertAll(List<Product> products, int batchSize) {
+        List<Long> ids = new ArrayList<>(products.size());
+        for (int from = 0; from < products.size(); from += batchSize) {
+            List<Product> chunk = products.subList(from, Math.min(from + batchSize, products.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bindInsert(ps, chunk.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> row : keys.getKeyList()) {
+                ids.add(((Number) row.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private static void bindInsert(PreparedStatement ps, Product p) throws SQLException {
+        ps.setString(1, p.getCode());
+        ps.setString(2, p.getName());
+        ps.setString(3, p.getDescription());
+        ps.setString(4, p.getImage());
+        ps.setString(5, p.getCategory());
+        ps.setDouble(6, p.getPrice());
+        ps.setInt(7, p.getQuantity());
+        ps.setString(8, p.getInternalReference());
+        if (p.getShellId() != null) {
+            ps.setLong(9, p.getShellId());
+        } else {
+            ps.setNull(9, Types.BIGINT);
+        }
+        ps.setString(10, p.getInventoryStatus().name());
+        ps.setDouble(11, p.getRating());
+        ps.setObject(12, p.getCreatedDate());
+        ps.setString(13, p.getCreatedBy());
+        ps.setLong(14, p.getVersion());
+    }
+
+    /**
+     * Applique les changements de prix/stock par lots de {@code batchSize} instructions.
+     *
+     * @return nombre de lignes modifiées pour chaque changement (0 si le produit n'existe pas), dans l'ordre de la liste
+     */
+    public int[] updateStock(List<StockChange> changes, String modifiedBy, LocalDateTime modifiedAt, int batchSize) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, changes, batchSize, (ps, change) -> {
+            ps.setObject(1, change.price(), Types.DOUBLE);
+            ps.setObject(2, change.quantity(), Types.INTEGER);
+            ps.setObject(3, change.quantity(), Types.INTEGER);
+            ps.setObject(4, change.quantity(), Types.INTEGER);
+            ps.setObject(5, modifiedAt);
+            ps.setString(6, modifiedBy);
+            ps.setLong(7, change.id());
+        });
+        int[] flat = new int[changes.size()];
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                flat[i++] = count;
+            }
+        }
+        return flat;
+    }
+
+    /**
+     * Ajoute {@code delta} (négatif pour un décrément) au stock si le résultat reste positif ou nul,
+     * en recalculant le statut d'inventaire dans la même instruction.
+     *
+     * @return faux si le produit n'existe pas ou si le stock est insuffisant (rien n'est modifié)
+     */
+    public boolean adjustStock(long id, int delta, String modifiedBy, LocalDateTime modifiedAt) {
+        return jdbcTemplate.update(ADJUST_STOCK_SQL, ps -> {
+            ps.setInt(1, delta);
+            ps.setInt(2, delta);
+            ps.setInt(3, delta);
+            ps.setObject(4, modifiedAt);
+            ps.setString(5, modifiedBy);
+            ps.setLong(6, id);
+            ps.setInt(7, delta);
+        }) > 0;
+    }
+
+    /**
+     * Ajoute les consultations par lots de {@code batchSize} instructions.
+     * Les lignes sont verrouillées dans l'ordre des ids pour éviter les interblocages entre flushs concurrents.
+     */
+    public void addViews(List<ViewIncrement> increments, int batchSize) {
+        List<ViewIncrement> sorted = new ArrayList<>(increments);
+        sorted.sort(Comparator.comparingLong(ViewIncrement::id));
+        jdbcTemplate.batchUpdate(ADD_VIEWS_SQL, sorted, batchSize, (ps, increment) -> {
+            ps.setLong(1, increment.views());
+            ps.setLong(2, increment.id());
+        });
+    }
+
+    /**
+     * Ajoute une note à l'agrégat du produit (somme, nombre, moyenne), sans lecture préalable.
+     *
+     * @return faux si le produit n'existe pas
+     */
+    public boolean addRating(long productId, int rating) {
+        return jdbcTemplate.update(ADD_RATING_SQL, ps -> {
+            ps.setDouble(1, rating); // division décimale quel que soit le SGBD
+            ps.setInt(2, rating);
+            ps.setLong(3, productId);
+        }) > 0;
+    }
+
+    /** Lit le stock d'un produit (sans charger l'entité). */
+    public Optional<StockLevel> findStockLevel(long id) {
+        return jdbcTemplate.query("SELECT quantity, version FROM product WHERE id = ?",
+                (rs, rowNum) -> new StockLevel(rs.getInt("quantity"), rs.getLong("version")), id)
+                .stream().findFirst();
+    }
+
+    /** Parcourt les compteurs de consultations non nuls (id, consultations). */
+    public void forEachViewCount(ObjLongConsumer<Long> consumer) {
+        jdbcTemplate.query("SELECT id, view_count FROM product WHERE view_count > 0",
+                rs -> {
+                    consumer.accept(rs.getLong(1), rs.getLong(2));
+                });
+    }
+
+    /**
+     * Résout des codes produit en identifiants, par requêtes {@code IN} de {@code batchSize} codes.
+     *
+     * @return map code → id (insensible à la casse, comme la collation de la colonne) ; codes inconnus absents
+     */
+    public Map<String, Long> findIdsByCodes(List<String> codes, int batchSize) {
+        Map<String, Long> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int from = 0; from < codes.size(); from += batchSize) {
+            List<String> chunk = codes.subList(from, Math.min(from + batchSize, codes.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, code FROM product WHERE code IN (" + placeholders + ")",
+                    rs -> {
+                        ids.put(rs.getString("code"), rs.getLong("id"));
+                    },
+                    chunk.toArray());
+        }
+        return ids;
+    }
+}
@@ -1,5 +1,7 @@
 package com.alten.shop.product;
 
+import com.alten.shop.product.dto.ProductSuggestion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,12 +9,19 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import com.alten.shop.product.Product.InventoryStatus;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ProductRepository
-        extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+        extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductRepositoryCustom {
 
     boolean existsByCode(String code);
 
@@ -26,5 +35,29 @@ public interface ProductRepository
   Page<Product> findByNameContainingIgnoreCaseOrCodeContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
             String name, String code, String description, Pageable pageable
     );
+
+    /**
+     * Autocomplétion en base (repli tant que l'index en mémoire n'est pas chargé).
+     *
+     * @param prefix motif déjà échappé, voir {@link ProductSpecifications#startsWithPattern(String)}
+     */
+    @Query("""
+            select new com.alten.shop.product.dto.ProductSuggestion(p.id, p.code, p.name, p.category, p.rating)
+            from Product p
+            where p.name like :prefix escape '\\' or p.code like :prefix escape '\\'
+            order by p.rating desc, p.name, p.id
+            """)
+    List<ProductSuggestion> findSuggestions(@Param("prefix") String prefix, Limit limit);
+
+    /**
+     * Parcours complet du catalogue en streaming (chargement des index en mémoire).
+     * Integer.MIN_VALUE active le mode « streaming » ligne à ligne du driver MySQL.
+     * À consommer dans une transaction, puis fermer le Stream.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Product> streamAllBy();
 }
 
@@ -0,0 +1,42 @@
+package com.alten.shop.product;
+
+import com.alten.shop.product.dto.ProductFacetsResponse;
+import com.alten.shop.product.dto.ProductSummaryResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Requêtes produit écrites à la main (Criteria API), intégrées à {@link ProductRepository}.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Page de résumés produit : seules les colonnes de {@link ProductSummaryResponse} sont sélectionnées,
+     * sans entité managée ni snapshot de dirty-checking.
+     */
+    Page<ProductSummaryResponse> findSummaries(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Résumés produit triés et limités (sans requête de comptage).
+     *
+     * @param limit nombre maximum de lignes renvoyées
+     */
+    List<ProductSummaryResponse> findSummaries(Specification<Product> spec, Sort sort, int limit);
+
+    /**
+     * Tranche de résumés produit sans requête de comptage : {@code size + 1} lignes sont lues
+     * pour déterminer s'il existe une page suivante.
+     */
+    Slice<ProductSummaryResponse> findSummarySlice(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Comptages par catégorie et par statut (GROUP BY) des produits correspondant à la Specification.
+     * Repli utilisé tant que les agrégats en mémoire ne sont pas chargés.
+     */
+    ProductFacetsResponse countFacets(Specification<Product> spec);
+}
@@ -0,0 +1,145 @@
+package com.alten.shop.product;
+
+import com.alten.shop.product.dto.FacetCount;
+import com.alten.shop.product.dto.ProductFacetsResponse;
+import com.alten.shop.product.dto.ProductSummaryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+/**
+ * Implémentation Criteria API de {@link ProductRepositoryCustom}.
+ */
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductSummaryResponse> findSummaries(Specification<Product> spec, Pageable pageable) {
+        TypedQuery<ProductSummaryResponse> query = summaryQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        // le COUNT n'est exécuté que s'il est réellement nécessaire (page incomplète = dernière page)
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<ProductSummaryResponse> findSummaries(Specification<Product> spec, Sort sort, int limit) {
+        return summaryQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Slice<ProductSummaryResponse> findSummarySlice(Specification<Product> spec, Pageable pageable) {
+        List<ProductSummaryResponse> rows = summaryQuery(spec, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public ProductFacetsResponse countFacets(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        query.multiselect(root.get("category"), root.get("inventoryStatus"), cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(root.get("category"), root.get("inventoryStatus"));
+
+        // la collation de la colonne regroupe déjà les catégories sans tenir compte de la casse
+        Map<String, Long> categories = new LinkedHashMap<>();
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        long total = 0;
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            long count = row.get(2, Long.class);
+            categories.merge(row.get(0, String.class), count, Long::sum);
+            statuses.merge(row.get(1, Product.InventoryStatus.class).name(), count, Long::sum);
+            total += count;
+        }
+        return ProductFacetsResponse.builder()
+                .total(total)
+                .categories(toFacets(categories))
+                .statuses(toFacets(statuses))
+                .build();
+    }
+
+    private static List<FacetCount> toFacets(Map<String, Long> counts) {
+        List<FacetCount> facets = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> facets.add(new FacetCount(value, count)));
+        facets.sort(Comparator.comparingLong(FacetCount::getCount).reversed()
+                .thenComparing(FacetCount::getValue, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return facets;
+    }
+
+    private TypedQuery<ProductSummaryResponse> summaryQuery(Specification<Product> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummaryResponse> query = cb.createQuery(ProductSummaryResponse.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(cb.construct(ProductSummaryResponse.class,
+                root.get("id"),
+                root.get("version"),
+                root.get("code"),
+                root.get("name"),
+                root.get("image"),
+                root.get("category"),
+                root.get("price"),
+                root.get("quantity"),
+                root.get("inventoryStatus"),
+                root.get("rating"),
+                root.get("createdDate")
+        ));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
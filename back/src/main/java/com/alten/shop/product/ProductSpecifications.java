@@ -0,0 +1,114 @@
+package com.alten.shop.product;
+
+import com.alten.shop.product.Product.InventoryStatus;
+import com.alten.shop.product.pagination.ProductCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Specifications JPA réutilisables pour les requêtes sur {@link Product}.
+ * <p>
+ * Chaque méthode renvoie un prédicat composable ; un prédicat {@code null}
+ * signifie « pas de restriction ».
+ * </p>
+ * <p>
+ * Les comparaisons ne passent pas par {@code LOWER()/UPPER()} : la collation MySQL par défaut
+ * ({@code utf8mb4_0900_ai_ci}) est déjà insensible à la casse, et une fonction sur la colonne
+ * empêcherait l'utilisation des index composites déclarés sur {@link Product}.
+ * </p>
+ */
+public final class ProductSpecifications {
+
+    /** Ordre stable utilisé par la pagination par clé (index {@code createdDate, id}). */
+    public static final Sort SEEK_ORDER = Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("id"));
+
+    private ProductSpecifications() {}
+
+    /**
+     * Prédicat de seek : éléments strictement « après » le curseur dans l'ordre
+     * {@code createdDate DESC, id DESC}, soit
+     * {@code createdDate < :date OR (createdDate = :date AND id < :id)}.
+     */
+    public static Specification<Product> after(ProductCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) return null;
+            return cb.or(
+                    cb.lessThan(root.get("createdDate"), cursor.createdDate()),
+                    cb.and(
+                            cb.equal(root.get("createdDate"), cursor.createdDate()),
+                            cb.lessThan(root.get("id"), cursor.id())
+                    )
+            );
+        };
+    }
+
+    /** Catégorie exacte (insensible à la casse via la collation). */
+    public static Specification<Product> hasCategory(String category) {
+        return (root, query, cb) -> isBlank(category) ? null : cb.equal(root.get("category"), category.trim());
+    }
+
+    public static Specification<Product> hasStatus(InventoryStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("inventoryStatus"), status);
+    }
+
+    /** Recherche libre sur le code, le nom ou la description. */
+    public static Specification<Product> matches(String q) {
+        return (root, query, cb) -> {
+            if (isBlank(q)) return null;
+            String pattern = "%" + escapeLike(q.trim()) + "%";
+            return cb.or(
+                    cb.like(root.get("name"), pattern, '\\'),
+                    cb.like(root.get("code"), pattern, '\\'),
+                    cb.like(root.get("description"), pattern, '\\')
+            );
+        };
+    }
+
+    /** Prix unitaire dans l'intervalle (bornes incluses, chacune optionnelle). */
+    public static Specification<Product> priceBetween(Double min, Double max) {
+        return (root, query, cb) -> {
+            if (min == null && max == null) return null;
+            if (max == null) return cb.greaterThanOrEqualTo(root.get("price"), min);
+            if (min == null) return cb.lessThanOrEqualTo(root.get("price"), max);
+            return cb.between(root.get("price"), min, max);
+        };
+    }
+
+    /** Note moyenne au moins égale à {@code min} (optionnelle). */
+    public static Specification<Product> ratingAtLeast(Double min) {
+        return (root, query, cb) -> min == null ? null : cb.greaterThanOrEqualTo(root.get("rating"), min);
+    }
+
+    /** Produits dont l'identifiant appartient à la liste (lecture par clé primaire). */
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Combine tous les critères fournis (ET logique) en une seule requête.
+     *
+     * @param category catégorie (optionnelle)
+     * @param status   statut d'inventaire déjà validé (optionnel)
+     * @param q        texte libre (optionnel)
+     */
+    public static Specification<Product> filteredBy(String category, InventoryStatus status, String q) {
+        return Specification.allOf(hasCategory(category), hasStatus(status), matches(q));
+    }
+
+    /**
+     * Motif {@code LIKE} « commence par » (caractères spéciaux échappés, caractère d'échappement {@code \}).
+     */
+    public static String startsWithPattern(String prefix) {
+        return escapeLike(prefix.trim()) + "%";
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,38 @@
+package com.alten.shop.product.cache;
+
+import com.alten.shop.product.event.ProductChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Numéro de génération du catalogue : incrémenté après chaque écriture produit validée.
+ * <p>
+ * Sert de validateur pour tout ce qui dépend de l'ensemble du catalogue (ETag des listes,
+ * caches de pages…) : si la génération n'a pas changé, aucune liste n'a pu changer.
+ * Le jeton inclut l'instant de démarrage de l'instance pour qu'un redémarrage
+ * (compteur remis à zéro) ne réutilise jamais un ancien jeton.
+ * </p>
+ */
+@Component
+public class CatalogGeneration {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Génération courante. */
+    public long current() {
+        return generation.get();
+    }
+
+    /** Jeton opaque (instance + génération), utilisable comme ETag faible. */
+    public String token() {
+        return Long.toString(epoch, 36) + "-" + generation.get();
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+    }
+}
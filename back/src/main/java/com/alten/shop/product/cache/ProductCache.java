@@ -0,0 +1,116 @@
+package com.alten.shop.product.cache;
+
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache en mémoire des {@link ProductResponse} indexés par identifiant.
+ * <p>
+ * - Borné en taille (LRU/LFU Caffeine) et en durée de vie (TTL après écriture).<br>
+ * - Sensible à la version ({@code @Version} de {@code BaseEntity}) : une entrée n'est jamais
+ *   remplacée par un état plus ancien, même si une lecture concurrente termine après une écriture.<br>
+ * - Invalidé après commit via {@link ProductChangedEvent}.<br>
+ * - Un produit supprimé laisse une pierre tombale ({@code tombstone-ttl}) : une lecture commencée avant la suppression,
+ *   ou servie par un réplica en retard, ne peut pas le remettre en cache.<br>
+ * - Les compteurs hit/miss/eviction sont exposés dans Micrometer sous le nom {@code products.byId}
+ *   (actuator : {@code /actuator/metrics/cache.gets?tag=cache:products.byId}).
+ * </p>
+ */
+@Component
+public class ProductCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCache.class);
+
+    public static final String CACHE_NAME = "products.byId";
+
+    private final Cache<Long, ProductResponse> cache;
+    /** Produits supprimés récemment (les identifiants ne sont jamais réutilisés). */
+    private final Cache<Long, Boolean> tombstones;
+
+    public ProductCache(
+            @Value("${application.product.cache.max-size:10000}") long maxSize,
+            @Value("${application.product.cache.ttl:10m}") Duration ttl,
+            @Value("${application.product.cache.tombstone-ttl:1m}") Duration tombstoneTtl,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.tombstones = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(tombstoneTtl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Product cache initialized: maxSize={}, ttl={}, tombstoneTtl={}", maxSize, ttl, tombstoneTtl);
+    }
+
+    /**
+     * Lit un produit en cache (compte un hit ou un miss).
+     */
+    public Optional<ProductResponse> get(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Ajoute ou remplace une entrée uniquement si sa version est plus récente que celle en cache,
+     * et jamais pour un produit supprimé récemment (vérifié sous le verrou de la clé, comme la suppression).
+     */
+    public void putIfNewer(ProductResponse response) {
+        if (response == null || response.getId() == null) {
+            return;
+        }
+        cache.asMap().compute(response.getId(), (id, current) -> {
+            if (tombstones.getIfPresent(id) != null) {
+                return null;
+            }
+            return current == null || isNewer(response, current) ? response : current;
+        });
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /** Statistiques cumulées (hits, misses, évictions). */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Maintient le cache cohérent après chaque écriture validée (commit).
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            tombstones.put(event.id(), Boolean.TRUE);
+            evict(event.id());
+        } else {
+            putIfNewer(event.product());
+        }
+    }
+
+    private static boolean isNewer(ProductResponse candidate, ProductResponse current) {
+        if (current.getVersion() == null) return true;
+        if (candidate.getVersion() == null) return false;
+        return candidate.getVersion() > current.getVersion();
+    }
+}
@@ -0,0 +1,47 @@
+package com.alten.shop.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Cache des totaux de produits par filtre (valeurs approximatives).
+ * <p>
+ * Un {@code COUNT(*)} sur un filtre large parcourt tout l'index concerné : il n'est recalculé
+ * qu'à l'expiration de l'entrée (TTL court), pas à chaque affichage de page.
+ * Les écritures ne l'invalident pas : le total peut donc être en retard d'au plus un TTL.
+ * </p>
+ */
+@Component
+public class ProductCountCache {
+
+    public static final String CACHE_NAME = "products.count";
+
+    private final Cache<String, Long> cache;
+
+    public ProductCountCache(
+            @Value("${application.product.count-cache.max-size:1000}") long maxSize,
+            @Value("${application.product.count-cache.ttl:60s}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Renvoie le total en cache pour cette clé, ou le calcule une seule fois (appels concurrents inclus).
+     */
+    public long get(String key, Supplier<Long> counter) {
+        return cache.get(key, k -> counter.get());
+    }
+}
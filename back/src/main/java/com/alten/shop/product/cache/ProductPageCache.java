@@ -0,0 +1,122 @@
+package com.alten.shop.product.cache;
+
+import com.alten.shop.config.datasource.ReadReplicaRoutingDataSource;
+import com.alten.shop.product.dto.ProductFilter;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.alten.shop.product.pagination.ProductSort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache des premières pages de {@code GET /products}, sous forme de JSON déjà sérialisé.
+ * <p>
+ * - Chaque entrée contient les octets UTF-8 de la réponse et leur variante gzip : un hit est renvoyé
+ *   tel quel, sans requête, sans mapping ni sérialisation Jackson.<br>
+ * - La clé inclut la génération du catalogue ({@link CatalogGeneration}) lue avant le chargement :
+ *   une page calculée pendant une écriture concurrente est rangée sous une génération déjà périmée
+ *   et ne sera jamais resservie. Le cache est en plus vidé après chaque écriture pour libérer la mémoire.<br>
+ * - Les pages sont chargées sur le primaire ({@link ReadReplicaRoutingDataSource#onPrimary}) : une page lue sur
+ *   un réplica en retard serait rangée sous la nouvelle génération et servie à tous, auteur de l'écriture compris.<br>
+ * - Taille bornée en octets (poids = JSON + gzip).
+ * </p>
+ */
+@Component
+public class ProductPageCache {
+
+    public static final String CACHE_NAME = "products.pages";
+
+    /** Réponse sérialisée : JSON UTF-8 et sa variante compressée. */
+    public record SerializedPage(byte[] json, byte[] gzip) {}
+
+    private final Cache<String, SerializedPage> cache;
+    private final CatalogGeneration catalogGeneration;
+    private final ObjectMapper objectMapper;
+    private final int maxPage;
+
+    public ProductPageCache(
+            @Value("${application.product.page-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${application.product.page-cache.max-page:5}") int maxPage,
+            CatalogGeneration catalogGeneration,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, SerializedPage page) -> page.json().length + page.gzip().length)
+                .recordStats()
+                .build();
+        this.catalogGeneration = catalogGeneration;
+        this.objectMapper = objectMapper;
+        this.maxPage = maxPage;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** Vrai si cette page fait partie des pages « chaudes » mises en cache. */
+    public boolean isCacheable(int page) {
+        return page >= 0 && page < maxPage;
+    }
+
+    /**
+     * Renvoie la page sérialisée pour ce filtre, ou la charge, la sérialise et la compresse une seule fois
+     * (appels concurrents inclus).
+     */
+    public SerializedPage get(ProductFilter filter, int page, int size, Supplier<?> loader) {
+        String key = catalogGeneration.current() + "|" + key(filter, page, size);
+        return cache.get(key, k -> serialize(ReadReplicaRoutingDataSource.onPrimary(loader)));
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Retire les pages d'un tri dont l'ordre change sans écriture produit (popularité, après chaque flush).
+     * Le tri est l'avant-avant-dernier segment de la clé : la recherche libre peut contenir '|', pas la page ni la taille.
+     */
+    public void invalidateSort(ProductSort sort) {
+        String name = sort.name().toLowerCase(Locale.ROOT);
+        cache.asMap().keySet().removeIf(key -> {
+            String[] parts = key.split("\\|", -1);
+            return parts.length >= 3 && parts[parts.length - 3].equals(name);
+        });
+    }
+
+    private SerializedPage serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new SerializedPage(json, compressed.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Clé normalisée d'une page (casse et espaces des critères ignorés). */
+    private static String key(ProductFilter filter, int page, int size) {
+        return normalize(filter.getCategory()) + "|" + normalize(filter.getStatus()) + "|"
+                + normalize(filter.getQ()) + "|" + filter.getMinPrice() + "|" + filter.getMaxPrice() + "|"
+                + filter.getMinRating() + "|" + normalize(filter.getSort()) + "|" + page + "|" + size;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,9 +1,25 @@
 package com.alten.shop.product.controller;
 
 
+import com.alten.shop.product.ProductSpecifications;
+import com.alten.shop.product.cache.CatalogGeneration;
+import com.alten.shop.product.cache.ProductPageCache;
+import com.alten.shop.product.dto.ProductCountResponse;
+import com.alten.shop.product.dto.ProductCursorPage;
+import com.alten.shop.product.dto.ProductBulkUpdateReport;
+import com.alten.shop.product.dto.ProductFacetsResponse;
 import com.alten.shop.product.dto.ProductFilter;
+import com.alten.shop.product.dto.ProductImportReport;
 import com.alten.shop.product.dto.ProductRequest;
 import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.ProductSlice;
+import com.alten.shop.product.dto.ProductStockAdjustment;
+import com.alten.shop.product.dto.ProductStockUpdate;
+import com.alten.shop.product.dto.ProductSuggestion;
+import com.alten.shop.product.dto.ProductSummaryResponse;
+import com.alten.shop.product.export.ExportFormat;
+import com.alten.shop.product.pagination.ProductSort;
+import com.alten.shop.product.popularity.ProductViewCounter;
 import com.alten.shop.product.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,10 +28,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 /**
  * Contrôleur REST pour la gestion des produits.
@@ -24,6 +46,12 @@ import org.springframework.web.bind.annotation.*;
  * - Les opérations d'écriture (create/update/delete) sont restreintes
  * à l'utilisateur <b>admin@admin.com</b> ayant l'autorité <b>ADMIN</b>.
  * </p>
+ * <p>
+ * Requêtes conditionnelles (If-None-Match → 304) :
+ * - détail : ETag fort dérivé de l'id et de la version du produit ;
+ * - listes : ETag faible dérivé de la génération du catalogue ({@link CatalogGeneration}),
+ *   vérifié avant toute lecture en base ; le tri par popularité y ajoute le numéro du dernier flush des consultations.
+ * </p>
  */
 @RestController
 @RequestMapping("/products")
@@ -32,6 +60,9 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService service;
+    private final CatalogGeneration catalogGeneration;
+    private final ProductPageCache pageCache;
+    private final ProductViewCounter viewCounter;
 
     /**
      * Crée un produit (réservé à admin@admin.com avec rôle ADMIN).
@@ -43,6 +74,17 @@ public class ProductController {
         return ResponseEntity.ok(service.create(request));
     }
 
+    /**
+     * Importe des produits en masse (réservé à admin@admin.com avec rôle ADMIN).
+     * <p>Les lignes invalides sont rapportées dans la réponse sans bloquer l'import des autres.</p>
+     */
+    @Operation(summary = "Bulk import products (only ADMIN with admin@admin.com)")
+    @PreAuthorize("hasAuthority('ADMIN') and authentication.name == 'admin@admin.com'")
+    @PostMapping("/bulk")
+    public ResponseEntity<ProductImportReport> bulkCreate(@RequestBody List<ProductRequest> requests) {
+        return ResponseEntity.ok(service.bulkCreate(requests));
+    }
+
     /**
      * Met à jour un produit (réservé à admin@admin.com avec rôle ADMIN).
      */
@@ -56,6 +98,30 @@ public class ProductController {
         return ResponseEntity.ok(service.update(id, request));
     }
 
+    /**
+     * Met à jour en masse le prix et/ou le stock (réservé à admin@admin.com avec rôle ADMIN).
+     * <p>Remplace une série de PUT unitaires : quelques instructions SQL groupées pour des milliers de produits.</p>
+     */
+    @Operation(summary = "Bulk update price and stock (only ADMIN with admin@admin.com)")
+    @PreAuthorize("hasAuthority('ADMIN') and authentication.name == 'admin@admin.com'")
+    @PatchMapping("/bulk")
+    public ResponseEntity<ProductBulkUpdateReport> bulkUpdateStock(@RequestBody List<ProductStockUpdate> updates) {
+        return ResponseEntity.ok(service.bulkUpdateStock(updates));
+    }
+
+    /**
+     * Ajoute des unités au stock (réservé à admin@admin.com avec rôle ADMIN).
+     */
+    @Operation(summary = "Add units to the stock of a product (only ADMIN with admin@admin.com)")
+    @PreAuthorize("hasAuthority('ADMIN') and authentication.name == 'admin@admin.com'")
+    @PostMapping("/{id}/stock/increment")
+    public ResponseEntity<ProductResponse> incrementStock(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductStockAdjustment adjustment
+    ) {
+        return ResponseEntity.ok(service.incrementStock(id, adjustment.getQuantity()));
+    }
+
     /**
      * Supprime un produit (réservé à admin@admin.com avec rôle ADMIN).
      */
@@ -69,34 +135,209 @@ public class ProductController {
 
     /**
      * Récupère un produit par son identifiant.
+     * <p>Le produit vient du cache en mémoire ; si l'ETag correspond, Spring répond 304 sans sérialiser le corps.
+     * Seul point de comptage des consultations ({@link ProductViewCounter}, tri {@code sort=popular}).</p>
      */
-    @Operation(summary = "Get a product by id")
+    @Operation(summary = "Get a product by id (supports If-None-Match)")
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(service.findById(id));
+        ProductResponse product = service.findById(id);
+        viewCounter.recordView(id);
+        return ResponseEntity.ok()
+                .eTag("\"p" + product.getId() + "-v" + product.getVersion() + "\"")
+                .body(product);
     }
 
 
     /**
-     * Liste paginée des produits avec filtres optionnels.
+     * Liste paginée des produits avec filtres optionnels (combinables entre eux).
+     * Renvoie des résumés ; le détail complet est servi par {@code GET /products/{id}}.
+     * <p>Les premières pages sont servies depuis {@link ProductPageCache} (JSON pré-sérialisé, gzip si accepté).</p>
      */
-    @Operation(summary = "List products with pagination and optional filters")
+    @Operation(summary = "List products (compact summaries) with pagination, optional filters and sort")
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> findAll(
+    public ResponseEntity<?> findAll(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String q,
-            @RequestParam(required = false) String status
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
-        ProductFilter filter = ProductFilter.builder()
+        String etag = catalogETag(sort);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        // createdDate DESC, id DESC : ordre déterministe servi par les index composites de Product
+        Pageable pageable = PageRequest.of(page, size, ProductSpecifications.SEEK_ORDER);
+        ProductFilter filter = toFilter(category, q, status, minPrice, maxPrice, minRating, sort);
+        if (!pageCache.isCacheable(page)) {
+            return ResponseEntity.ok().eTag(etag).body(service.findAll(filter, pageable));
+        }
+
+        // pages « chaudes » : octets JSON (ou gzip) déjà sérialisés, renvoyés tels quels
+        ProductPageCache.SerializedPage cached = pageCache.get(filter, page, size, () -> service.findAll(filter, pageable));
+        boolean gzip = acceptsGzip(webRequest);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? cached.gzip() : cached.json());
+    }
+
+    /**
+     * Liste des produits par pagination par clé (curseur), du plus récent au plus ancien.
+     * <p>Le coût est identique pour la première et la 10 000e page : à privilégier pour le défilement profond.</p>
+     */
+    @Operation(summary = "List products with keyset (cursor) pagination, newest first (price/rating filters, no custom sort)")
+    @GetMapping("/cursor")
+    public ResponseEntity<ProductCursorPage> findAllByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minRating,
+            WebRequest webRequest
+    ) {
+        String etag = catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(service.findAllByCursor(toFilter(category, q, status, minPrice, maxPrice, minRating, null), cursor, size));
+    }
+
+    /**
+     * Liste paginée sans total (pas de {@code SELECT COUNT(*)}) dans une enveloppe JSON compacte.
+     */
+    @Operation(summary = "List products without total count (hasNext only)")
+    @GetMapping("/slice")
+    public ResponseEntity<ProductSlice> findSlice(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest
+    ) {
+        String etag = catalogETag(sort);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(service.findSlice(toFilter(category, q, status, minPrice, maxPrice, minRating, sort), page, size));
+    }
+
+    /**
+     * Nombre de produits correspondant aux filtres (mis en cache, éventuellement approximatif).
+     */
+    @Operation(summary = "Count products matching the filters (cached, may be approximate)")
+    @GetMapping("/count")
+    public ResponseEntity<ProductCountResponse> count(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minRating
+    ) {
+        return ResponseEntity.ok(service.count(toFilter(category, q, status, minPrice, maxPrice, minRating, null)));
+    }
+
+    /**
+     * Nombre de produits par catégorie et par statut, éventuellement restreint par la recherche {@code q}.
+     * <p>Même ETag faible que les listes : les facettes ne changent qu'avec la génération du catalogue.</p>
+     */
+    @Operation(summary = "Product counts per category and inventory status (supports If-None-Match)")
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsResponse> facets(@RequestParam(required = false) String q, WebRequest webRequest) {
+        String etag = catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(service.facets(q));
+    }
+
+    /**
+     * Autocomplétion de la zone de recherche : produits dont le nom, l'un de ses mots ou le code commence par {@code q}.
+     * <p>Remplace l'appel de {@code GET /products?q=} à chaque frappe ; même ETag faible que les listes.</p>
+     */
+    @Operation(summary = "Autocomplete product names and codes, best rated first (supports If-None-Match)")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit,
+            WebRequest webRequest
+    ) {
+        String etag = catalogETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(service.suggest(q, limit));
+    }
+
+    /**
+     * Exporte tout le catalogue en NDJSON ou CSV.
+     * <p>La réponse est écrite au fil de la lecture d'un curseur base de données (hors thread de requête) :
+     * remplace le parcours de toutes les pages de {@code GET /products}, à mémoire constante.</p>
+     */
+    @Operation(summary = "Stream the whole catalog as NDJSON or CSV")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(out -> service.export(exportFormat, out));
+    }
+
+    /**
+     * ETag faible des listes : lu AVANT la requête, pour qu'une écriture concurrente
+     * produise au pire une réponse 200 superflue, jamais un 304 erroné.
+     */
+    private String catalogETag() {
+        return "W/\"c" + catalogGeneration.token() + "\"";
+    }
+
+    /** ETag faible d'une liste triée : l'ordre par popularité change aussi à chaque flush des consultations. */
+    private String catalogETag(String sort) {
+        if (ProductSort.from(sort) != ProductSort.POPULAR) {
+            return catalogETag();
+        }
+        return "W/\"c" + catalogGeneration.token() + "-p" + viewCounter.epoch() + "\"";
+    }
+
+    private static boolean acceptsGzip(WebRequest webRequest) {
+        String acceptEncoding = webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static ProductFilter toFilter(String category, String q, String status,
+                                          Double minPrice, Double maxPrice, Double minRating, String sort) {
+        return ProductFilter.builder()
                 .category(category)
                 .q(q)
                 .status(status)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minRating(minRating)
+                .sort(sort)
                 .build();
-
-        return ResponseEntity.ok(service.findAll(filter, pageable));
     }
 
 }
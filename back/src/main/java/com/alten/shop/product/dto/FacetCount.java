@@ -0,0 +1,22 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Valeur de facette et nombre de produits correspondants.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Facet value with its number of products.")
+public class FacetCount {
+
+    @Schema(description = "Facet value (category or inventory status)", example = "Electronics")
+    private String value;
+
+    @Schema(description = "Number of products", example = "128")
+    private long count;
+}
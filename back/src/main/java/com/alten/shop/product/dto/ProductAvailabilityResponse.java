@@ -0,0 +1,28 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Stock d'un produit diminué des réservations en cours.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Available-to-sell quantity of a product (stock minus active reservations).")
+public class ProductAvailabilityResponse {
+
+    @Schema(description = "Technical identifier", example = "101")
+    private Long productId;
+
+    @Schema(description = "Units in stock", example = "35")
+    private Integer stock;
+
+    @Schema(description = "Units held by active reservations", example = "4")
+    private Long reserved;
+
+    @Schema(description = "Units that can still be reserved or sold", example = "31")
+    private Long available;
+}
@@ -0,0 +1,30 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Compte rendu d'une mise à jour en masse du prix et du stock.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a bulk price/stock update.")
+public class ProductBulkUpdateReport {
+
+    @Schema(description = "Number of rows received", example = "5000")
+    private int received;
+
+    @Schema(description = "Number of products updated", example = "4997")
+    private int updated;
+
+    @Schema(description = "Number of rejected rows (invalid or unknown product)", example = "3")
+    private int rejected;
+
+    @Schema(description = "Errors of the rejected rows")
+    private List<ProductImportError> errors;
+}
@@ -0,0 +1,22 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Nombre de produits correspondant à un filtre.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Number of products matching a filter.")
+public class ProductCountResponse {
+
+    @Schema(description = "Number of matching products", example = "1250")
+    private long total;
+
+    @Schema(description = "True if the value may lag behind recent writes (served from a short-lived cache)")
+    private boolean approximate;
+}
@@ -0,0 +1,32 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page de produits obtenue par pagination par clé (curseur).
+ * <p>Aucun total n'est calculé : le client enchaîne les pages avec {@code nextCursor}.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cursor-based (keyset) page of products.")
+public class ProductCursorPage {
+
+    @Schema(description = "Products of this page, newest first")
+    private List<ProductSummaryResponse> content;
+
+    @Schema(description = "Requested page size", example = "12")
+    private int size;
+
+    @Schema(description = "True if another page is available")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor to pass back to fetch the next page (null on the last page)",
+            example = "MjAyNS0wOS0xNFQxMDoyMzo0NXwxMDE")
+    private String nextCursor;
+}
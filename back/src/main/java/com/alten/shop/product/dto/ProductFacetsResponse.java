@@ -0,0 +1,27 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Nombre de produits par catégorie et par statut d'inventaire (facettes de la grille produit).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product counts per category and per inventory status.")
+public class ProductFacetsResponse {
+
+    @Schema(description = "Number of products in scope", example = "1250")
+    private long total;
+
+    @Schema(description = "Counts per category, most populated first")
+    private List<FacetCount> categories;
+
+    @Schema(description = "Counts per inventory status, most populated first")
+    private List<FacetCount> statuses;
+}
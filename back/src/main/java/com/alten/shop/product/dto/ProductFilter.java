@@ -1,7 +1,9 @@
 package com.alten.shop.product.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
@@ -29,4 +31,22 @@ public class ProductFilter {
     @Pattern(regexp = "INSTOCK|LOWSTOCK|OUTOFSTOCK", message = "Status must be one of: INSTOCK, LOWSTOCK, OUTOFSTOCK")
     @Schema(description = "Inventory status filter (optional)", example = "INSTOCK", allowableValues = {"INSTOCK", "LOWSTOCK", "OUTOFSTOCK"})
     private String status;
-}
\ No newline at end of file
+
+    @PositiveOrZero(message = "Minimum price must be positive or zero")
+    @Schema(description = "Minimum unit price, inclusive (optional)", example = "10")
+    private Double minPrice;
+
+    @PositiveOrZero(message = "Maximum price must be positive or zero")
+    @Schema(description = "Maximum unit price, inclusive (optional)", example = "50")
+    private Double maxPrice;
+
+    @PositiveOrZero(message = "Minimum rating must be between 0 and 5")
+    @DecimalMax(value = "5", message = "Minimum rating must be between 0 and 5")
+    @Schema(description = "Minimum average rating, inclusive (optional)", example = "4")
+    private Double minRating;
+
+    @Pattern(regexp = "(?i)NEWEST|PRICE_ASC|PRICE_DESC|RATING_DESC|POPULAR", message = "Sort must be one of: NEWEST, PRICE_ASC, PRICE_DESC, RATING_DESC, POPULAR")
+    @Schema(description = "Sort order (optional, newest first by default; relevance first for a free-text search)",
+            example = "PRICE_ASC", allowableValues = {"NEWEST", "PRICE_ASC", "PRICE_DESC", "RATING_DESC", "POPULAR"})
+    private String sort;
+}
@@ -0,0 +1,25 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Erreur sur une ligne d'une opération en masse (import, mise à jour).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Error on one row of a bulk operation (import or update).")
+public class ProductImportError {
+
+    @Schema(description = "Zero-based index of the rejected row in the request", example = "42")
+    private int index;
+
+    @Schema(description = "Invalid field (null if the whole row is invalid)", example = "price")
+    private String field;
+
+    @Schema(description = "Error message", example = "Price must be greater than zero")
+    private String message;
+}
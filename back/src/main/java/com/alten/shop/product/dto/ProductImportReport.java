@@ -0,0 +1,33 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Compte rendu d'un import en masse : les lignes valides sont insérées, les autres rejetées avec leurs erreurs.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Result of a bulk product import.")
+public class ProductImportReport {
+
+    @Schema(description = "Number of rows received", example = "1000")
+    private int received;
+
+    @Schema(description = "Number of products created", example = "998")
+    private int imported;
+
+    @Schema(description = "Number of rejected rows", example = "2")
+    private int rejected;
+
+    @Schema(description = "Identifiers of the created products, in request order")
+    private List<Long> ids;
+
+    @Schema(description = "Validation errors of the rejected rows")
+    private List<ProductImportError> errors;
+}
@@ -57,6 +57,9 @@ public class ProductResponse {
     @Schema(description = "Average rating (0..5)", example = "4.5")
     private Double rating;
 
+    @Schema(description = "Number of reviews the average rating is computed from", example = "128")
+    private Long ratingCount;
+
 
     /** Dates d'audit mappées depuis BaseEntity. */
     @Schema(description = "Creation timestamp (audit)", example = "2025-09-14T10:23:45")
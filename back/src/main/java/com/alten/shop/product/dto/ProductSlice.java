@@ -0,0 +1,35 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Enveloppe compacte d'une page de produits sans total (mode « slice »).
+ * <p>
+ * Aucun {@code SELECT COUNT(*)} n'est exécuté : {@code hasNext} est déduit de la lecture
+ * de {@code size + 1} lignes. Un total approximatif est disponible séparément
+ * via {@code GET /products/count}.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Count-free page of products.")
+public class ProductSlice {
+
+    @Schema(description = "Products of this page")
+    private List<ProductSummaryResponse> content;
+
+    @Schema(description = "Zero-based page index", example = "0")
+    private int page;
+
+    @Schema(description = "Requested page size", example = "12")
+    private int size;
+
+    @Schema(description = "True if another page is available")
+    private boolean hasNext;
+}
@@ -0,0 +1,23 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+/**
+ * Quantité à retirer du stock (achat) ou à y ajouter (réassort).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Number of units to take from or add to the stock of a product.")
+public class ProductStockAdjustment {
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be greater than zero")
+    @Schema(description = "Number of units", example = "1")
+    private Integer quantity;
+}
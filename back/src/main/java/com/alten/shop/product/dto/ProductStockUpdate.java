@@ -0,0 +1,33 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+
+/**
+ * Ligne d'une mise à jour en masse du prix et/ou du stock.
+ * <p>Le produit est désigné par son id ou par son code (l'un des deux) ; les champs null ne sont pas modifiés.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Price and/or stock change for one product, identified by id or code.")
+public class ProductStockUpdate {
+
+    @Schema(description = "Technical identifier (or use code)", example = "101")
+    private Long id;
+
+    @Schema(description = "Unique product code (or use id)", example = "PRD-1A2B3C4D")
+    private String code;
+
+    @Positive(message = "Price must be greater than zero")
+    @Schema(description = "New unit price (EUR), unchanged if null", example = "24.90")
+    private Double price;
+
+    @PositiveOrZero(message = "Quantity must be zero or positive")
+    @Schema(description = "New available quantity, unchanged if null", example = "35")
+    private Integer quantity;
+}
@@ -0,0 +1,31 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+/**
+ * Proposition d'autocomplétion (saisie dans la zone de recherche).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Autocomplete suggestion for the search box.")
+public class ProductSuggestion {
+
+    @Schema(description = "Technical identifier", example = "101")
+    private Long id;
+
+    @Schema(description = "Unique product code (SKU)", example = "AL-PRD-001")
+    private String code;
+
+    @Schema(description = "Product name", example = "Wireless Mouse")
+    private String name;
+
+    @Schema(description = "Product category", example = "Peripherals")
+    private String category;
+
+    @Schema(description = "Average rating (0..5)", example = "4.5")
+    private Double rating;
+}
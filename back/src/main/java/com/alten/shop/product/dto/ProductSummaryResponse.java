@@ -0,0 +1,58 @@
+package com.alten.shop.product.dto;
+
+import com.alten.shop.product.Product.InventoryStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Représentation compacte d'un produit pour les listes (grille catalogue).
+ * <p>
+ * Projection construite directement par la requête (aucune entité managée) :
+ * la description (TEXT), la référence interne et l'emplacement ne sont pas lus.
+ * Le détail complet reste disponible via {@code GET /products/{id}}.
+ * </p>
+ * L'ordre des champs correspond au constructeur utilisé par la projection JPA.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Compact representation of a product for catalog listings.")
+public class ProductSummaryResponse {
+
+    @Schema(description = "Technical identifier", example = "101")
+    private Long id;
+
+    @Schema(description = "Optimistic lock version", example = "0")
+    private Long version;
+
+    @Schema(description = "Unique product code (SKU)", example = "AL-PRD-001")
+    private String code;
+
+    @Schema(description = "Product name", example = "Wireless Mouse")
+    private String name;
+
+    @Schema(description = "Image URL", example = "https://cdn.example.com/img/mouse.png")
+    private String image;
+
+    @Schema(description = "Product category", example = "Peripherals")
+    private String category;
+
+    @Schema(description = "Unit price (EUR)", example = "29.9")
+    private Double price;
+
+    @Schema(description = "Available quantity", example = "120")
+    private Integer quantity;
+
+    @Schema(description = "Inventory status", example = "INSTOCK", allowableValues = {"INSTOCK", "LOWSTOCK", "OUTOFSTOCK"})
+    private InventoryStatus inventoryStatus;
+
+    @Schema(description = "Average rating (0..5)", example = "4.5")
+    private Double rating;
+
+    @Schema(description = "Creation timestamp (audit)", example = "2025-09-14T10:23:45")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.alten.shop.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Réservation de stock temporaire, à confirmer avant son échéance.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Temporary stock reservation, released automatically at expiry unless confirmed.")
+public class StockReservationResponse {
+
+    @Schema(description = "Reservation identifier", example = "3f2c1a9e-8b4d-4c6e-9a7f-2d1e0b5c4a38")
+    private String id;
+
+    @Schema(description = "Reserved product", example = "101")
+    private Long productId;
+
+    @Schema(description = "Number of units held", example = "2")
+    private Integer quantity;
+
+    @Schema(description = "Expiry instant (UTC)", example = "2025-09-14T10:33:45Z")
+    private Instant expiresAt;
+}
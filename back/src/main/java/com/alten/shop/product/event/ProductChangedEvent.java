@@ -0,0 +1,32 @@
+package com.alten.shop.product.event;
+
+import com.alten.shop.product.dto.ProductResponse;
+
+/**
+ * Événement applicatif publié par le service produit après chaque écriture.
+ * <p>
+ * Les structures en mémoire (cache, index…) l'écoutent en phase AFTER_COMMIT
+ * afin de ne refléter que des états effectivement persistés.
+ * </p>
+ *
+ * @param type    nature de la modification
+ * @param id      identifiant technique du produit concerné
+ * @param product état du produit après écriture (null pour une suppression)
+ */
+public record ProductChangedEvent(ChangeType type, Long id, ProductResponse product) {
+
+    /** Nature de la modification. */
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    public static ProductChangedEvent created(ProductResponse product) {
+        return new ProductChangedEvent(ChangeType.CREATED, product.getId(), product);
+    }
+
+    public static ProductChangedEvent updated(ProductResponse product) {
+        return new ProductChangedEvent(ChangeType.UPDATED, product.getId(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long id) {
+        return new ProductChangedEvent(ChangeType.DELETED, id, null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.alten.shop.product.export;
+
+import com.alten.shop.exception.InvalidExportFormatException;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formats d'export du catalogue.
+ */
+@Getter
+public enum ExportFormat {
+
+    /** Un objet JSON par ligne (newline-delimited JSON). */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    /** CSV RFC 4180 avec ligne d'en-tête. */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /** Conversion insensible à la casse ; 400 si le format est inconnu. */
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            throw new InvalidExportFormatException(value);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.alten.shop.product.export;
+
+import com.alten.shop.product.dto.ProductResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Lecture du catalogue complet pour l'export, en JDBC direct sur le pool {@code exportDataSource}
+ * (curseur serveur MySQL, hors contexte de persistance et hors transaction JPA).
+ */
+@Repository
+public class ProductExportRepository {
+
+    private static final String SELECT_ALL_SQL = """
+            SELECT id, version, code, name, description, image, category, price, quantity, internal_reference,
+                   shell_id, inventory_status, rating, rating_count, created_date, last_modified_date
+            FROM product
+            ORDER BY id""";
+
+    private final JdbcTemplate jdbc;
+
+    public ProductExportRepository(
+            @Qualifier("exportDataSource") DataSource exportDataSource,
+            @Value("${application.product.export.fetch-size:500}") int fetchSize
+    ) {
+        this.jdbc = new JdbcTemplate(exportDataSource);
+        this.jdbc.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Produits dans l'ordre des id ; seules {@code fetch-size} lignes sont en mémoire à un instant donné.
+     * La connexion est rendue au pool à la fermeture du Stream.
+     */
+    public Stream<ProductResponse> streamAll() {
+        return jdbc.queryForStream(SELECT_ALL_SQL, (rs, rowNum) -> toResponse(rs));
+    }
+
+    private static ProductResponse toResponse(ResultSet rs) throws SQLException {
+        return ProductResponse.builder()
+                .id(rs.getLong("id"))
+                .version(rs.getLong("version"))
+                .code(rs.getString("code"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .image(rs.getString("image"))
+                .category(rs.getString("category"))
+                .price(rs.getObject("price", Double.class))
+                .quantity(rs.getObject("quantity", Integer.class))
+                .internalReference(rs.getString("internal_reference"))
+                .shellId(rs.getObject("shell_id", Long.class))
+                .inventoryStatus(rs.getString("inventory_status"))
+                .rating(rs.getObject("rating", Double.class))
+                .ratingCount(rs.getObject("rating_count", Long.class))
+                .createdAt(rs.getObject("created_date", LocalDateTime.class))
+                .updatedAt(rs.getObject("last_modified_date", LocalDateTime.class))
+                .build();
+    }
+}
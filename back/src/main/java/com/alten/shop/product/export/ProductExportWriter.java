@@ -0,0 +1,69 @@
+package com.alten.shop.product.export;
+
+import com.alten.shop.product.dto.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Écrit les produits exportés, un par un, dans le format demandé.
+ * <p>Aucun état n'est conservé entre deux produits : la mémoire consommée ne dépend pas de la taille du catalogue.</p>
+ */
+public final class ProductExportWriter {
+
+    private static final String[] CSV_HEADER = {
+            "id", "version", "code", "name", "description", "image", "category", "price", "quantity",
+            "internalReference", "shellId", "inventoryStatus", "rating", "createdAt", "updatedAt"
+    };
+
+    private final ExportFormat format;
+    private final Writer out;
+    private final ObjectMapper objectMapper;
+
+    public ProductExportWriter(ExportFormat format, Writer out, ObjectMapper objectMapper) {
+        this.format = format;
+        this.out = out;
+        this.objectMapper = objectMapper;
+    }
+
+    /** En-tête éventuel du fichier (ligne de colonnes en CSV). */
+    public void start() throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsvRow((Object[]) CSV_HEADER);
+        }
+    }
+
+    public void write(ProductResponse product) throws IOException {
+        switch (format) {
+            case NDJSON -> {
+                out.write(objectMapper.writeValueAsString(product));
+                out.write('\n');
+            }
+            case CSV -> writeCsvRow(
+                    product.getId(), product.getVersion(), product.getCode(), product.getName(),
+                    product.getDescription(), product.getImage(), product.getCategory(), product.getPrice(),
+                    product.getQuantity(), product.getInternalReference(), product.getShellId(),
+                    product.getInventoryStatus(), product.getRating(), product.getCreatedAt(), product.getUpdatedAt());
+        }
+    }
+
+    private void writeCsvRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                out.write(escapeCsv(values[i].toString()));
+            }
+        }
+        out.write("\r\n");
+    }
+
+    /** Guillemets uniquement si nécessaire ; les guillemets internes sont doublés. */
+    private static String escapeCsv(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,101 @@
+package com.alten.shop.product.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Écrit un fichier image dans la réponse HTTP sans le charger sur le tas Java.
+ * <p>
+ * - Tomcat (connecteur NIO/NIO2) : le fichier est délégué au connecteur via les attributs {@code sendfile},
+ *   qui l'envoie après le retour du contrôleur par {@code FileChannel.transferTo} (copie noyau → socket).<br>
+ * - Autre conteneur : repli sur {@code transferTo} vers le flux de réponse, par petits blocs.<br>
+ * - Requêtes partielles : une seule plage {@code Range} (206 / 416) ; plusieurs plages, un {@code If-Range}
+ *   différent de l'ETag ou un en-tête invalide donnent la réponse complète (RFC 9110).
+ * </p>
+ */
+@Component
+public class ImageFileSender {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Envoie le fichier (ou la plage demandée). Les en-têtes de cache et l'ETag doivent déjà être positionnés.
+     */
+    public void send(StoredImage image, String etag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = image.size();
+        long start = 0;
+        long end = size - 1;
+
+        HttpRange range = singleRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(image.format().mediaType().toString());
+        response.setContentLengthLong(Math.max(length, 0));
+        if (length <= 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, image.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1); // borne exclusive
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(image.path())) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break; // fichier tronqué entre-temps
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /** Plage unique à servir, ou null pour la réponse complète. */
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.alten.shop.product.image;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+/**
+ * Formats d'image acceptés à l'envoi, reconnus par leur signature (premiers octets du fichier),
+ * jamais par l'extension ou le Content-Type déclarés par le client.
+ */
+public enum ImageFormat {
+
+    JPEG("jpg", MediaType.IMAGE_JPEG),
+    PNG("png", MediaType.IMAGE_PNG),
+    GIF("gif", MediaType.IMAGE_GIF),
+    /** Conservé tel quel : ImageIO ne sait pas le décoder, aucune variante n'est générée. */
+    WEBP("webp", MediaType.parseMediaType("image/webp"));
+
+    /** Nombre d'octets lus pour reconnaître un format. */
+    static final int SIGNATURE_LENGTH = 12;
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ImageFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /** Format des variantes redimensionnées : JPEG reste JPEG, PNG et GIF (transparence) deviennent PNG ; null pour WEBP. */
+    public ImageFormat variantFormat() {
+        return switch (this) {
+            case JPEG -> JPEG;
+            case PNG, GIF -> PNG;
+            case WEBP -> null;
+        };
+    }
+
+    /** Nom du format pour {@code ImageIO.write}. */
+    String imageIoName() {
+        return this == JPEG ? "jpeg" : name().toLowerCase();
+    }
+
+    /**
+     * Reconnaît le format d'après la signature du fichier.
+     *
+     * @param header premiers octets du fichier (au plus {@link #SIGNATURE_LENGTH})
+     * @return le format, ou null s'il n'est pas accepté
+     */
+    static ImageFormat detect(byte[] header, int length) {
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) return JPEG;
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return PNG;
+        if (startsWith(header, length, 'G', 'I', 'F', '8')) return GIF;
+        if (startsWith(header, length, 'R', 'I', 'F', 'F') && length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') return WEBP;
+        return null;
+    }
+
+    /** Format d'un fichier stocké d'après son extension ; null si inconnue. */
+    static ImageFormat fromExtension(String extension) {
+        return Arrays.stream(values()).filter(f -> f.extension.equals(extension)).findFirst().orElse(null);
+    }
+
+    private static boolean startsWith(byte[] header, int length, int... signature) {
+        if (length < signature.length) return false;
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[i] & 0xFF) != signature[i]) return false;
+        }
+        return true;
+    }
+}
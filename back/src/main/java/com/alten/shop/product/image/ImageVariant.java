@@ -0,0 +1,43 @@
+package com.alten.shop.product.image;
+
+import java.util.Locale;
+
+/**
+ * Tailles servies pour une image produit ; la largeur et la hauteur d'une variante
+ * ne dépassent jamais {@link #maxDimension()} (proportions conservées, pas d'agrandissement).
+ */
+public enum ImageVariant {
+
+    /** Fichier envoyé, servi tel quel. */
+    ORIGINAL(0),
+    /** Vignette des listes et de l'autocomplétion. */
+    THUMB(160),
+    /** Grille catalogue. */
+    SMALL(480),
+    /** Page détail. */
+    LARGE(1200);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int maxDimension() {
+        return maxDimension;
+    }
+
+    /** Segment d'URL et nom de fichier sur le disque. */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Conversion insensible à la casse ; null si la variante n'existe pas. */
+    public static ImageVariant from(String value) {
+        try {
+            return value == null ? null : valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.alten.shop.product.image;
+
+import com.alten.shop.product.dto.ProductResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Envoi et service des images produit.
+ * <p>
+ * - L'envoi est réservé à admin@admin.com (ADMIN) ; le fichier multipart est recopié sur le disque en flux.<br>
+ * - Le service est public (balises {@code <img>} sans jeton) : les URL étant versionnées par le contenu,
+ *   elles sont mises en cache sans revalidation ({@code immutable}). Une variante pas encore générée est
+ *   remplacée par l'original avec une durée de cache courte.<br>
+ * - If-None-Match / If-Modified-Since → 304 ; Range → 206 ; octets envoyés par {@link ImageFileSender}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/products")
+@Tag(name = "Product images", description = "Upload and serve product images")
+public class ProductImageController {
+
+    private final ProductImageService imageService;
+    private final ImageFileSender fileSender;
+    private final String immutableCacheControl;
+    private final String fallbackCacheControl;
+
+    public ProductImageController(
+            ProductImageService imageService,
+            ImageFileSender fileSender,
+            @Value("${application.product.image.max-age:365d}") Duration maxAge,
+            @Value("${application.product.image.fallback-max-age:60s}") Duration fallbackMaxAge
+    ) {
+        this.imageService = imageService;
+        this.fileSender = fileSender;
+        this.immutableCacheControl = CacheControl.maxAge(maxAge).cachePublic().immutable().getHeaderValue();
+        this.fallbackCacheControl = CacheControl.maxAge(fallbackMaxAge).cachePublic().getHeaderValue();
+    }
+
+    /**
+     * Remplace l'image d'un produit (réservé à admin@admin.com avec rôle ADMIN).
+     * <p>Le champ {@code image} du produit renvoyé pointe vers l'original ; remplacer le dernier segment
+     * par {@code thumb}, {@code small} ou {@code large} donne les variantes.</p>
+     */
+    @Operation(summary = "Upload a product image (only ADMIN with admin@admin.com)")
+    @PreAuthorize("hasAuthority('ADMIN') and authentication.name == 'admin@admin.com'")
+    @PostMapping(value = "/{id}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductResponse> upload(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(imageService.upload(id, file));
+    }
+
+    /**
+     * Sert une variante d'image (original, thumb, small, large).
+     */
+    @Operation(summary = "Serve a product image variant (public, cacheable, supports Range and If-None-Match)")
+    @GetMapping("/{id}/images/{version}/{variant}")
+    public void serve(
+            @PathVariable Long id,
+            @PathVariable String version,
+            @PathVariable String variant,
+            ServletWebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        StoredImage image = imageService.resolve(id, version, variant);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, image.exact() ? immutableCacheControl : fallbackCacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String etag = "\"" + version + "-" + image.variant().key() + "\"";
+        if (webRequest.checkNotModified(etag, image.lastModified())) {
+            return; // 304 Not Modified
+        }
+        fileSender.send(image, etag, request, response);
+    }
+}
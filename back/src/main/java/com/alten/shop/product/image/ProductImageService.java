@@ -0,0 +1,30 @@
+package com.alten.shop.product.image;
+
+import com.alten.shop.product.dto.ProductResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service des images produit : envoi d'un fichier (original + variantes) et localisation pour le service HTTP.
+ */
+public interface ProductImageService {
+
+    /**
+     * Enregistre une nouvelle image pour un produit et met à jour son champ {@code image}.
+     * <p>Les variantes sont générées en tâche de fond ; l'original est servi à leur place en attendant.</p>
+     *
+     * @param productId identifiant technique du produit
+     * @param file      fichier envoyé (JPEG, PNG, GIF ou WEBP)
+     * @return le produit mis à jour (nouvelle URL d'image)
+     */
+    ProductResponse upload(Long productId, MultipartFile file);
+
+    /**
+     * Localise le fichier à servir pour une version et une variante d'image.
+     *
+     * @param productId identifiant technique du produit
+     * @param version   version de l'image (segment d'URL)
+     * @param variant   nom de la variante (original, thumb, small, large)
+     * @return le fichier sur le disque (l'original si la variante n'est pas encore générée)
+     */
+    StoredImage resolve(Long productId, String version, String variant);
+}
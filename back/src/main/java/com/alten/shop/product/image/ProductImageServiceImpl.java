@@ -0,0 +1,132 @@
+package com.alten.shop.product.image;
+
+import com.alten.shop.exception.InvalidProductImageException;
+import com.alten.shop.exception.ProductImageNotFoundException;
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.alten.shop.product.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implémentation du service des images produit.
+ * <p>
+ * L'écriture du fichier se fait hors transaction ; seule la mise à jour de l'URL passe par
+ * {@link ProductService#updateImage} (guard admin, version, événement après commit pour les caches et index).
+ * Les anciennes versions sont supprimées une fois la nouvelle URL enregistrée, et tout le répertoire
+ * d'un produit à sa suppression.<br>
+ * Les envois d'un même produit sont sérialisés : sans cela, le nettoyage d'un envoi pourrait supprimer
+ * la version qu'un envoi concurrent vient d'enregistrer comme image courante.
+ * </p>
+ */
+@Service
+public class ProductImageServiceImpl implements ProductImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImageServiceImpl.class);
+
+    /** Nombre de verrous d'envoi, partagés entre produits par hachage de l'identifiant. */
+    private static final int UPLOAD_LOCK_STRIPES = 64;
+
+    private final ProductService productService;
+    private final ProductImageStorage storage;
+    private final ProductImageVariantPipeline pipeline;
+    private final String contextPath;
+    private final ReentrantLock[] uploadLocks = new ReentrantLock[UPLOAD_LOCK_STRIPES];
+
+    public ProductImageServiceImpl(
+            ProductService productService,
+            ProductImageStorage storage,
+            ProductImageVariantPipeline pipeline,
+            @Value("${server.servlet.context-path:}") String contextPath
+    ) {
+        this.productService = productService;
+        this.storage = storage;
+        this.pipeline = pipeline;
+        this.contextPath = contextPath.endsWith("/") ? contextPath.substring(0, contextPath.length() - 1) : contextPath;
+        for (int i = 0; i < uploadLocks.length; i++) {
+            uploadLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Enregistre la nouvelle version, l'URL en base, puis supprime les autres versions, sous le verrou du produit :
+     * aucun autre envoi ne peut enregistrer sa version entre la mise à jour de l'URL et le nettoyage.
+     */
+    @Override
+    public ProductResponse upload(Long productId, MultipartFile file) {
+        ReentrantLock lock = uploadLocks[Math.floorMod(Long.hashCode(productId), uploadLocks.length)];
+        lock.lock();
+        try {
+            return store(productId, file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** À appeler sous le verrou d'envoi du produit. */
+    private ProductResponse store(Long productId, MultipartFile file) {
+        // 404 avant toute écriture sur le disque
+        ProductResponse current = productService.findById(productId);
+        if (file == null || file.isEmpty()) {
+            throw new InvalidProductImageException("Image file is empty");
+        }
+
+        ProductImageStorage.Upload stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = storage.store(productId, in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image of product with id [" + productId + "]", e);
+        }
+
+        String url = imageUrl(productId, stored.version());
+        ProductResponse updated;
+        try {
+            updated = productService.updateImage(productId, url);
+        } catch (RuntimeException e) {
+            if (!url.equals(current.getImage())) {
+                storage.deleteVersion(productId, stored.version());
+            }
+            throw e;
+        }
+
+        boolean queued = pipeline.submit(productId, stored.original(), stored.format());
+        storage.deleteOtherVersions(productId, stored.version());
+        log.info("Image uploaded for product id={}: version={}, format={}, size={} bytes, variants queued={}",
+                productId, stored.version(), stored.format(), file.getSize(), queued);
+        return updated;
+    }
+
+    @Override
+    public StoredImage resolve(Long productId, String version, String variant) {
+        ImageVariant imageVariant = ImageVariant.from(variant);
+        if (imageVariant == null) {
+            throw new ProductImageNotFoundException(productId, version, variant);
+        }
+        return storage.resolve(productId, version, imageVariant)
+                .orElseThrow(() -> new ProductImageNotFoundException(productId, version, variant));
+    }
+
+    /**
+     * Supprime les fichiers d'un produit après commit de sa suppression.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            storage.deleteAll(event.id());
+        }
+    }
+
+    /** URL de l'original, relative à l'hôte (les variantes remplacent le dernier segment). */
+    private String imageUrl(Long productId, String version) {
+        return contextPath + "/products/" + productId + "/images/" + version + "/" + ImageVariant.ORIGINAL.key();
+    }
+}
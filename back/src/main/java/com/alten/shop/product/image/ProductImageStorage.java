@@ -0,0 +1,213 @@
+package com.alten.shop.product.image;
+
+import com.alten.shop.exception.InvalidProductImageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Stockage des images produit sur le disque local.
+ * <p>
+ * Arborescence : {@code <racine>/products/<id>/<version>/<variante>.<ext>}, où la version est une empreinte
+ * SHA-256 (16 caractères hexadécimaux) du fichier envoyé. Le contenu d'une URL ne change donc jamais,
+ * ce qui autorise une mise en cache client « immutable » ; un nouvel envoi produit une nouvelle URL.
+ * </p>
+ * <p>
+ * Les fichiers sont d'abord écrits dans {@code <racine>/tmp} puis déplacés atomiquement à leur place :
+ * un lecteur voit l'ancien fichier ou le nouveau, jamais un fichier partiellement écrit.
+ * Aucun fichier n'est lu entièrement en mémoire (copie en flux, signature lue sur quelques octets).
+ * </p>
+ */
+@Component
+public class ProductImageStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImageStorage.class);
+
+    private static final Pattern VERSION = Pattern.compile("[0-9a-f]{16}");
+
+    /** Fichier original déplacé à sa place définitive. */
+    public record Upload(String version, ImageFormat format, Path original) {
+    }
+
+    private final Path productsRoot;
+    private final Path tmpDir;
+
+    public ProductImageStorage(@Value("${application.file.uploads.photos-output-path:./uploads}") String root) throws IOException {
+        Path base = Path.of(root).toAbsolutePath().normalize();
+        this.productsRoot = base.resolve("products");
+        this.tmpDir = base.resolve("tmp");
+        Files.createDirectories(productsRoot);
+        Files.createDirectories(tmpDir);
+        log.info("Product image storage initialized in {}", base);
+    }
+
+    /**
+     * Copie le flux dans un fichier temporaire en calculant son empreinte, vérifie sa signature,
+     * puis le place comme original de la version correspondante.
+     *
+     * @throws InvalidProductImageException si le fichier est vide ou d'un format non accepté
+     */
+    public Upload store(long productId, InputStream in) throws IOException {
+        Path tmp = createTempFile();
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream digesting = new DigestInputStream(in, digest)) {
+                Files.copy(digesting, tmp, REPLACE_EXISTING);
+            }
+            ImageFormat format = detect(tmp);
+            if (format == null) {
+                throw new InvalidProductImageException("Unsupported or empty image file for product with id [" + productId + "]");
+            }
+            String version = HexFormat.of().formatHex(digest.digest(), 0, 8);
+            Path dir = versionDir(productId, version);
+            Files.createDirectories(dir);
+            Path original = dir.resolve(fileName(ImageVariant.ORIGINAL, format));
+            publish(tmp, original);
+            return new Upload(version, format, original);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Localise une variante ; si elle n'est pas (encore) générée, l'original de la même version la remplace.
+     *
+     * @return vide si la version est invalide ou absente du disque
+     */
+    public Optional<StoredImage> resolve(long productId, String version, ImageVariant variant) {
+        if (version == null || !VERSION.matcher(version).matches()) {
+            return Optional.empty();
+        }
+        Path dir = versionDir(productId, version);
+        if (variant != ImageVariant.ORIGINAL) {
+            Optional<StoredImage> exact = find(dir, variant, true);
+            if (exact.isPresent()) {
+                return exact;
+            }
+        }
+        return find(dir, ImageVariant.ORIGINAL, variant == ImageVariant.ORIGINAL);
+    }
+
+    /** Emplacement d'une variante, à côté de l'original dont elle est issue. */
+    public Path variantPath(Path original, ImageVariant variant, ImageFormat format) {
+        return original.resolveSibling(fileName(variant, format));
+    }
+
+    /** Fichier temporaire sur le même système de fichiers que les images (déplacement atomique possible). */
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(tmpDir, "image-", ".part");
+    }
+
+    /** Remplace atomiquement {@code target} par {@code tmp}. */
+    public void publish(Path tmp, Path target) throws IOException {
+        Files.move(tmp, target, ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    /** Supprime toutes les versions d'un produit sauf {@code keep}. */
+    public void deleteOtherVersions(long productId, String keep) {
+        Path productDir = productDir(productId);
+        if (!Files.isDirectory(productDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(productDir)) {
+            for (Path dir : versions) {
+                if (!dir.getFileName().toString().equals(keep)) {
+                    deleteRecursively(dir);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not list image versions of product id={}: {}", productId, e.getMessage());
+        }
+    }
+
+    public void deleteVersion(long productId, String version) {
+        deleteRecursively(versionDir(productId, version));
+    }
+
+    public void deleteAll(long productId) {
+        deleteRecursively(productDir(productId));
+    }
+
+    private Optional<StoredImage> find(Path dir, ImageVariant variant, boolean exact) {
+        for (ImageFormat format : ImageFormat.values()) {
+            Path file = dir.resolve(fileName(variant, format));
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    return Optional.of(new StoredImage(file, attributes.size(),
+                            attributes.lastModifiedTime().toMillis(), format, variant, exact));
+                }
+            } catch (NoSuchFileException e) {
+                // format suivant
+            } catch (IOException e) {
+                log.warn("Could not read image file {}: {}", file, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Path productDir(long productId) {
+        return productsRoot.resolve(Long.toString(productId));
+    }
+
+    private Path versionDir(long productId, String version) {
+        return productDir(productId).resolve(version);
+    }
+
+    private static String fileName(ImageVariant variant, ImageFormat format) {
+        return variant.key() + "." + format.extension();
+    }
+
+    private static ImageFormat detect(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(ImageFormat.SIGNATURE_LENGTH);
+        try (FileChannel channel = FileChannel.open(file)) {
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // lecture des premiers octets uniquement
+            }
+        }
+        return ImageFormat.detect(header.array(), header.position());
+    }
+
+    private void deleteRecursively(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete image files under {}: {}", root, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.alten.shop.product.image;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génération des variantes redimensionnées ({@link ImageVariant}) en tâche de fond.
+ * <p>
+ * - Pool borné : {@code threads} tâches simultanées, au plus {@code queue-capacity} en attente.
+ *   File pleine : l'envoi réussit quand même, l'original est servi à la place des variantes.<br>
+ * - Décodage sous-échantillonné : l'image n'est jamais décodée au-delà du double de la plus grande variante,
+ *   et les images de plus de {@code max-pixels} pixels sont refusées (protection contre les « bombes » de décompression).<br>
+ * - Chaque variante est écrite dans un fichier temporaire puis déplacée atomiquement.<br>
+ * - Taille de la file exposée dans Micrometer : {@code products.images.pipeline.queue}.
+ * </p>
+ */
+@Component
+public class ProductImageVariantPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImageVariantPipeline.class);
+
+    private final ProductImageStorage storage;
+    private final ThreadPoolExecutor executor;
+    private final long maxPixels;
+
+    public ProductImageVariantPipeline(
+            ProductImageStorage storage,
+            @Value("${application.product.image.pipeline.threads:2}") int threads,
+            @Value("${application.product.image.pipeline.queue-capacity:200}") int queueCapacity,
+            @Value("${application.product.image.pipeline.max-pixels:50000000}") long maxPixels,
+            MeterRegistry meterRegistry
+    ) {
+        this.storage = storage;
+        this.maxPixels = maxPixels;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "image-variants-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("products.images.pipeline.queue", executor, e -> e.getQueue().size())
+                .description("Product images waiting for variant generation")
+                .register(meterRegistry);
+        log.info("Image variant pipeline initialized: threads={}, queueCapacity={}", threads, queueCapacity);
+    }
+
+    /**
+     * Planifie la génération des variantes d'un original.
+     *
+     * @return faux si le format n'a pas de variantes ou si la file est pleine
+     */
+    public boolean submit(long productId, Path original, ImageFormat format) {
+        if (format.variantFormat() == null) {
+            return false;
+        }
+        try {
+            executor.execute(() -> generate(productId, original, format.variantFormat()));
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue full: variants of product id={} skipped, original served instead", productId);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void generate(long productId, Path original, ImageFormat variantFormat) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage source = decode(original);
+            if (source == null) {
+                log.warn("No image decoder for {} (product id={}): variants skipped", original.getFileName(), productId);
+                return;
+            }
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (variant == ImageVariant.ORIGINAL) {
+                    continue;
+                }
+                write(scale(source, variant.maxDimension(), variantFormat), variantFormat,
+                        storage.variantPath(original, variant, variantFormat));
+            }
+            log.debug("Image variants of product id={} generated in {} ms", productId, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            // version remplacée entre-temps (répertoire supprimé), fichier corrompu... : l'original reste servi
+            log.warn("Image variants of product id={} failed: {}", productId, e.getMessage());
+        }
+    }
+
+    private BufferedImage decode(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("image too large: " + width + "x" + height);
+                }
+                int step = Math.max(1, Math.max(width, height) / (2 * ImageVariant.LARGE.maxDimension()));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Réduction proportionnelle (jamais d'agrandissement) ; JPEG sans canal alpha. */
+    private static BufferedImage scale(BufferedImage source, int maxDimension, ImageFormat format) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        int type = format == ImageFormat.JPEG ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private void write(BufferedImage image, ImageFormat format, Path target) throws IOException {
+        Path tmp = storage.createTempFile();
+        try {
+            if (!ImageIO.write(image, format.imageIoName(), tmp.toFile())) {
+                throw new IOException("no ImageIO writer for " + format);
+            }
+            storage.publish(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
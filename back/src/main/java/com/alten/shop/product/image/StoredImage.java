@@ -0,0 +1,16 @@
+package com.alten.shop.product.image;
+
+import java.nio.file.Path;
+
+/**
+ * Fichier image résolu sur le disque, prêt à être servi.
+ *
+ * @param path         chemin absolu du fichier
+ * @param size         taille en octets
+ * @param lastModified date de dernière modification (epoch millis)
+ * @param format       format du fichier (type MIME de la réponse)
+ * @param variant      variante effectivement servie
+ * @param exact        faux si la variante demandée n'est pas (encore) générée et que l'original est servi à sa place
+ */
+public record StoredImage(Path path, long size, long lastModified, ImageFormat format, ImageVariant variant, boolean exact) {
+}
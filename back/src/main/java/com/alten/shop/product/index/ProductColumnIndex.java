@@ -0,0 +1,557 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.pagination.ProductSort;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en colonnes (tableaux primitifs triés) pour filtrer et trier les produits par prix et par note.
+ * <p>
+ * - Un segment par catégorie, plus un segment global pour les listes sans catégorie.<br>
+ * - Chaque segment range ses lignes deux fois : par (prix, id) et par (note, id). Un intervalle de prix
+ *   ou une note minimale correspond donc à une tranche contiguë, trouvée par recherche dichotomique.<br>
+ * - Les colonnes (clé, id, autre valeur, date de création, statut) sont des tableaux primitifs découpés
+ *   en blocs de {@value #BLOCK_SIZE} lignes : une mise à jour ne décale que les lignes d'un bloc.<br>
+ * - Les requêtes ne créent aucun objet par ligne examinée : seuls les identifiants de la page sont copiés.
+ * </p>
+ * Le tri par popularité ({@link ProductSort#POPULAR}) n'est pas servi ici : sa clé change à chaque consultation.
+ * Tant que {@link ProductIndexer#isReady()} est faux, les appelants doivent se rabattre sur la base de données.
+ */
+@Component
+public class ProductColumnIndex implements ProductIndex {
+
+    static final int BLOCK_SIZE = 512;
+
+    /** Clé du segment global (toutes catégories). */
+    private static final String ALL = "";
+
+    private static final String[] STATUSES = {"INSTOCK", "LOWSTOCK", "OUTOFSTOCK"};
+    private static final byte ANY_STATUS = -1;
+
+    /**
+     * Critères d'une requête ; bornes {@code null} = non bornées.
+     *
+     * @param sort ordre des résultats ; {@code null} pour {@link #refine} conserve l'ordre reçu (pertinence)
+     */
+    public record Query(String category, String status, Double minPrice, Double maxPrice, Double minRating,
+                        ProductSort sort) {}
+
+    /** Identifiants de la page demandée et nombre total de produits correspondants. */
+    public record Result(long[] ids, int total) {}
+
+    /** Valeurs indexées d'un produit, pour le retrouver dans ses segments lors d'une mise à jour. */
+    private record Row(String segment, double price, double rating, long created, byte status) {}
+
+    private final Map<String, Segment> segments = new HashMap<>();
+    private final Map<Long, Row> rows = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+            rows.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ProductResponse product) {
+        Row row = new Row(
+                segmentKey(product.getCategory()),
+                product.getPrice() != null ? product.getPrice() : 0d,
+                product.getRating() != null ? product.getRating() : 0d,
+                product.getCreatedAt() != null ? product.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L,
+                statusCode(product.getInventoryStatus()));
+
+        lock.writeLock().lock();
+        try {
+            unindex(product.getId());
+            long id = product.getId();
+            segments.computeIfAbsent(ALL, k -> new Segment()).add(id, row);
+            if (!row.segment().equals(ALL)) {
+                segments.computeIfAbsent(row.segment(), k -> new Segment()).add(id, row);
+            }
+            rows.put(id, row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Page de produits correspondant aux critères, dans l'ordre demandé (par défaut du plus récent au plus ancien).
+     *
+     * @param offset nombre de produits à sauter
+     * @param limit  taille de la page (0 pour ne calculer que le total)
+     */
+    public Result query(Query query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Segment segment = segments.get(segmentKey(query.category()));
+            if (segment == null) return new Result(new long[0], 0);
+
+            byte status = statusCode(query.status());
+            double minPrice = lower(query.minPrice());
+            double maxPrice = upper(query.maxPrice());
+            double minRating = lower(query.minRating());
+            ProductSort sort = query.sort() != null ? query.sort() : ProductSort.NEWEST;
+
+            return switch (sort) {
+                case PRICE_ASC -> segment.byPrice.scan(minPrice, maxPrice, false,
+                        minRating, Double.POSITIVE_INFINITY, status, offset, limit);
+                case PRICE_DESC -> segment.byPrice.scan(minPrice, maxPrice, true,
+                        minRating, Double.POSITIVE_INFINITY, status, offset, limit);
+                case RATING_DESC -> segment.byRating.scan(minRating, Double.POSITIVE_INFINITY, true,
+                        minPrice, maxPrice, status, offset, limit);
+                case POPULAR -> throw new IllegalArgumentException("Popularity order is not indexed here");
+                case NEWEST -> {
+                    // parcours de la tranche la plus étroite, l'autre critère étant vérifié ligne à ligne
+                    boolean byPrice = segment.byPrice.count(minPrice, maxPrice)
+                            <= segment.byRating.count(minRating, Double.POSITIVE_INFINITY);
+                    yield byPrice
+                            ? segment.byPrice.newest(minPrice, maxPrice, minRating, Double.POSITIVE_INFINITY, status, offset, limit)
+                            : segment.byRating.newest(minRating, Double.POSITIVE_INFINITY, minPrice, maxPrice, status, offset, limit);
+                }
+            };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre de produits correspondant aux critères (le tri est ignoré).
+     * Sans filtre sur le statut et avec un seul critère de prix ou de note, seules les bornes de la tranche sont cherchées.
+     */
+    public int count(Query query) {
+        lock.readLock().lock();
+        try {
+            Segment segment = segments.get(segmentKey(query.category()));
+            if (segment == null) return 0;
+
+            byte status = statusCode(query.status());
+            double minPrice = lower(query.minPrice());
+            double maxPrice = upper(query.maxPrice());
+            double minRating = lower(query.minRating());
+            if (query.minRating() == null) {
+                return segment.byPrice.scan(minPrice, maxPrice, false,
+                        Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, status, 0, 0).total();
+            }
+            if (query.minPrice() == null && query.maxPrice() == null) {
+                return segment.byRating.scan(minRating, Double.POSITIVE_INFINITY, false,
+                        Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, status, 0, 0).total();
+            }
+            return segment.byPrice.count(minPrice, maxPrice) <= segment.byRating.count(minRating, Double.POSITIVE_INFINITY)
+                    ? segment.byPrice.scan(minPrice, maxPrice, false, minRating, Double.POSITIVE_INFINITY, status, 0, 0).total()
+                    : segment.byRating.scan(minRating, Double.POSITIVE_INFINITY, false, minPrice, maxPrice, status, 0, 0).total();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applique les critères de prix et de note à des résultats de recherche, puis le tri demandé.
+     * Sans tri ({@code query.sort() == null}), l'ordre reçu (pertinence) est conservé.
+     */
+    public List<Long> refine(List<Long> ids, Query query) {
+        double minPrice = lower(query.minPrice());
+        double maxPrice = upper(query.maxPrice());
+        double minRating = lower(query.minRating());
+
+        lock.readLock().lock();
+        try {
+            List<Long> kept = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Row row = rows.get(id);
+                if (row != null && row.price() >= minPrice && row.price() <= maxPrice && row.rating() >= minRating) {
+                    kept.add(id);
+                }
+            }
+            if (query.sort() != null) {
+                kept.sort(comparator(query.sort()));
+            }
+            return kept;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Ordre d'un tri sur les valeurs indexées. À appeler sous verrou de lecture. */
+    private Comparator<Long> comparator(ProductSort sort) {
+        Comparator<Long> byId = Comparator.naturalOrder();
+        return switch (sort) {
+            case PRICE_ASC -> Comparator.<Long>comparingDouble(id -> rows.get(id).price()).thenComparing(byId);
+            case PRICE_DESC -> Comparator.<Long>comparingDouble(id -> rows.get(id).price()).thenComparing(byId).reversed();
+            case RATING_DESC -> Comparator.<Long>comparingDouble(id -> rows.get(id).rating()).thenComparing(byId).reversed();
+            case NEWEST -> Comparator.<Long>comparingLong(id -> rows.get(id).created()).thenComparing(byId).reversed();
+            case POPULAR -> throw new IllegalArgumentException("Popularity order is not indexed here");
+        };
+    }
+
+    /** À appeler sous verrou d'écriture. */
+    private void unindex(Long id) {
+        Row previous = rows.remove(id);
+        if (previous == null) return;
+        removeFrom(ALL, id, previous);
+        if (!previous.segment().equals(ALL)) {
+            removeFrom(previous.segment(), id, previous);
+        }
+    }
+
+    private void removeFrom(String key, long id, Row row) {
+        Segment segment = segments.get(key);
+        if (segment == null) return;
+        segment.byPrice.remove(row.price(), id);
+        segment.byRating.remove(row.rating(), id);
+        if (segment.byPrice.size == 0) {
+            segments.remove(key);
+        }
+    }
+
+    private static String segmentKey(String category) {
+        return category == null || category.isBlank() ? ALL : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static byte statusCode(String status) {
+        if (status == null || status.isBlank()) return ANY_STATUS;
+        for (byte i = 0; i < STATUSES.length; i++) {
+            if (STATUSES[i].equalsIgnoreCase(status.trim())) return i;
+        }
+        return ANY_STATUS;
+    }
+
+    private static double lower(Double bound) {
+        return bound != null ? bound : Double.NEGATIVE_INFINITY;
+    }
+
+    private static double upper(Double bound) {
+        return bound != null ? bound : Double.POSITIVE_INFINITY;
+    }
+
+    /** Lignes d'une catégorie (ou de tout le catalogue), rangées par prix et par note. */
+    private static final class Segment {
+        final Ordering byPrice = new Ordering();
+        final Ordering byRating = new Ordering();
+
+        void add(long id, Row row) {
+            byPrice.insert(row.price(), id, row.rating(), row.created(), row.status());
+            byRating.insert(row.rating(), id, row.price(), row.created(), row.status());
+        }
+    }
+
+    /** Bloc de lignes contiguës, triées par (clé, id). */
+    private static final class Block {
+        final double[] keys = new double[BLOCK_SIZE];
+        final long[] ids = new long[BLOCK_SIZE];
+        final double[] others = new double[BLOCK_SIZE];
+        final long[] created = new long[BLOCK_SIZE];
+        final byte[] statuses = new byte[BLOCK_SIZE];
+        int size;
+
+        /** Index de la ligne (clé, id), ou {@code -(point d'insertion) - 1} si elle est absente. */
+        int search(double key, long id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(keys[mid], ids[mid], key, id);
+                if (cmp < 0) low = mid + 1;
+                else if (cmp > 0) high = mid - 1;
+                else return mid;
+            }
+            return -(low + 1);
+        }
+
+        void insertAt(int at, double key, long id, double other, long createdAt, byte status) {
+            int moved = size - at;
+            System.arraycopy(keys, at, keys, at + 1, moved);
+            System.arraycopy(ids, at, ids, at + 1, moved);
+            System.arraycopy(others, at, others, at + 1, moved);
+            System.arraycopy(created, at, created, at + 1, moved);
+            System.arraycopy(statuses, at, statuses, at + 1, moved);
+            keys[at] = key;
+            ids[at] = id;
+            others[at] = other;
+            created[at] = createdAt;
+            statuses[at] = status;
+            size++;
+        }
+
+        void removeAt(int at) {
+            int moved = size - at - 1;
+            System.arraycopy(keys, at + 1, keys, at, moved);
+            System.arraycopy(ids, at + 1, ids, at, moved);
+            System.arraycopy(others, at + 1, others, at, moved);
+            System.arraycopy(created, at + 1, created, at, moved);
+            System.arraycopy(statuses, at + 1, statuses, at, moved);
+            size--;
+        }
+
+        /** Déplace la seconde moitié des lignes dans un nouveau bloc. */
+        Block split() {
+            Block right = new Block();
+            int half = size / 2;
+            int moved = size - half;
+            System.arraycopy(keys, half, right.keys, 0, moved);
+            System.arraycopy(ids, half, right.ids, 0, moved);
+            System.arraycopy(others, half, right.others, 0, moved);
+            System.arraycopy(created, half, right.created, 0, moved);
+            System.arraycopy(statuses, half, right.statuses, 0, moved);
+            right.size = moved;
+            size = half;
+            return right;
+        }
+
+        boolean accepts(int i, double otherMin, double otherMax, byte status) {
+            return others[i] >= otherMin && others[i] <= otherMax && (status == ANY_STATUS || statuses[i] == status);
+        }
+    }
+
+    /**
+     * Lignes triées par (clé, id) croissants, réparties en blocs.
+     * Une position est codée sur un long : {@code bloc << 32 | index dans le bloc}.
+     */
+    private static final class Ordering {
+        final List<Block> blocks = new ArrayList<>();
+        int size;
+
+        void insert(double key, long id, double other, long createdAt, byte status) {
+            if (blocks.isEmpty()) {
+                Block first = new Block();
+                first.insertAt(0, key, id, other, createdAt, status);
+                blocks.add(first);
+                size++;
+                return;
+            }
+            int b = Math.min(blockFor(key, id), blocks.size() - 1);
+            Block block = blocks.get(b);
+            int at = -block.search(key, id) - 1;
+            if (at < 0) return; // déjà présente
+            if (block.size == BLOCK_SIZE) {
+                Block right = block.split();
+                blocks.add(b + 1, right);
+                if (at > block.size) {
+                    block = right;
+                    at -= blocks.get(b).size;
+                }
+            }
+            block.insertAt(at, key, id, other, createdAt, status);
+            size++;
+        }
+
+        void remove(double key, long id) {
+            int b = blockFor(key, id);
+            if (b == blocks.size()) return;
+            Block block = blocks.get(b);
+            int at = block.search(key, id);
+            if (at < 0) return;
+            block.removeAt(at);
+            if (block.size == 0) blocks.remove(b);
+            size--;
+        }
+
+        /** Premier bloc dont la dernière ligne est ≥ (clé, id) ; {@code blocks.size()} si aucun. */
+        int blockFor(double key, long id) {
+            int low = 0;
+            int high = blocks.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                Block block = blocks.get(mid);
+                int last = block.size - 1;
+                if (compare(block.keys[last], block.ids[last], key, id) < 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        /** Position de la première ligne ≥ (clé, id) ; fin de l'ordre si aucune. */
+        long lowerBound(double key, long id) {
+            int b = blockFor(key, id);
+            if (b == blocks.size()) return position(b, 0);
+            int at = blocks.get(b).search(key, id);
+            return position(b, at >= 0 ? at : -at - 1);
+        }
+
+        /** Nombre de lignes dont la clé est dans [min, max]. */
+        int count(double min, double max) {
+            return distance(lowerBound(min, Long.MIN_VALUE), lowerBound(max, Long.MAX_VALUE));
+        }
+
+        /** Nombre de lignes entre deux positions (fin exclue) : quelques blocs entiers et deux morceaux. */
+        int distance(long from, long to) {
+            if (from >= to) return 0;
+            int fromBlock = blockOf(from);
+            int toBlock = blockOf(to);
+            if (fromBlock == toBlock) return Math.max(0, indexOf(to) - indexOf(from));
+            int count = blocks.get(fromBlock).size - indexOf(from);
+            for (int b = fromBlock + 1; b < toBlock; b++) {
+                count += blocks.get(b).size;
+            }
+            return count + indexOf(to);
+        }
+
+        /**
+         * Parcours de la tranche [min, max] dans l'ordre de la clé (ou l'ordre inverse),
+         * l'autre valeur et le statut étant vérifiés ligne à ligne.
+         */
+        Result scan(double min, double max, boolean descending,
+                    double otherMin, double otherMax, byte status, int offset, int limit) {
+            long from = lowerBound(min, Long.MIN_VALUE);
+            long to = lowerBound(max, Long.MAX_VALUE);
+            if (from >= to) return new Result(new long[0], 0);
+            boolean filtered = otherMin != Double.NEGATIVE_INFINITY || otherMax != Double.POSITIVE_INFINITY
+                    || status != ANY_STATUS;
+            int total = filtered ? -1 : distance(from, to);
+
+            long[] page = new long[Math.max(0, total >= 0 ? Math.min(limit, total - offset) : limit)];
+            int collected = 0;
+            int matched = 0;
+            int fromBlock = blockOf(from);
+            int toBlock = blockOf(to);
+            for (int step = 0; step <= toBlock - fromBlock; step++) {
+                int b = descending ? toBlock - step : fromBlock + step;
+                if (b >= blocks.size()) continue;
+                Block block = blocks.get(b);
+                int start = b == fromBlock ? indexOf(from) : 0;
+                int end = b == toBlock ? indexOf(to) : block.size;
+                if (!filtered) {
+                    // sans filtre ligne à ligne : les blocs avant la page sont sautés en bloc
+                    int rows = Math.max(0, end - start);
+                    if (matched + rows <= offset) {
+                        matched += rows;
+                        continue;
+                    }
+                }
+                for (int k = 0; k < end - start; k++) {
+                    int i = descending ? end - 1 - k : start + k;
+                    if (filtered && !block.accepts(i, otherMin, otherMax, status)) continue;
+                    if (matched >= offset && collected < page.length) {
+                        page[collected++] = block.ids[i];
+                    }
+                    matched++;
+                    if (!filtered && collected == page.length) {
+                        return new Result(page, total);
+                    }
+                }
+            }
+            return new Result(collected == page.length ? page : Arrays.copyOf(page, collected),
+                    filtered ? matched : total);
+        }
+
+        /**
+         * Plus récents de la tranche [min, max] : tas binaire primitif des {@code offset + limit}
+         * meilleures (date de création, id), sans tri de toute la tranche.
+         */
+        Result newest(double min, double max, double otherMin, double otherMax, byte status, int offset, int limit) {
+            long from = lowerBound(min, Long.MIN_VALUE);
+            long to = lowerBound(max, Long.MAX_VALUE);
+            if (from >= to) return new Result(new long[0], 0);
+            int capacity = (int) Math.min((long) offset + limit, distance(from, to));
+            long[] heapCreated = new long[capacity];
+            long[] heapIds = new long[capacity];
+            int heapSize = 0;
+            int matched = 0;
+
+            int fromBlock = blockOf(from);
+            int toBlock = blockOf(to);
+            for (int b = fromBlock; b <= toBlock && b < blocks.size(); b++) {
+                Block block = blocks.get(b);
+                int start = b == fromBlock ? indexOf(from) : 0;
+                int end = b == toBlock ? indexOf(to) : block.size;
+                for (int i = start; i < end; i++) {
+                    if (!block.accepts(i, otherMin, otherMax, status)) continue;
+                    matched++;
+                    if (capacity == 0) continue;
+                    if (heapSize < capacity) {
+                        heapCreated[heapSize] = block.created[i];
+                        heapIds[heapSize] = block.ids[i];
+                        siftUp(heapCreated, heapIds, heapSize++);
+                    } else if (isNewer(block.created[i], block.ids[i], heapCreated[0], heapIds[0])) {
+                        heapCreated[0] = block.created[i];
+                        heapIds[0] = block.ids[i];
+                        siftDown(heapCreated, heapIds, heapSize);
+                    }
+                }
+            }
+
+            // vidage du tas (le plus ancien en premier) de la fin vers le début : du plus récent au plus ancien
+            long[] ordered = new long[heapSize];
+            for (int n = heapSize; n > 0; n--) {
+                ordered[n - 1] = heapIds[0];
+                heapCreated[0] = heapCreated[n - 1];
+                heapIds[0] = heapIds[n - 1];
+                siftDown(heapCreated, heapIds, n - 1);
+            }
+            int pageStart = Math.min(offset, ordered.length);
+            return new Result(Arrays.copyOfRange(ordered, pageStart, Math.min(ordered.length, pageStart + limit)), matched);
+        }
+
+        private static long position(int block, int index) {
+            return ((long) block << 32) | index;
+        }
+
+        private static int blockOf(long position) {
+            return (int) (position >>> 32);
+        }
+
+        private static int indexOf(long position) {
+            return (int) position;
+        }
+    }
+
+    private static boolean isNewer(long created, long id, long otherCreated, long otherId) {
+        return created != otherCreated ? created > otherCreated : id > otherId;
+    }
+
+    /** Tas minimal : la racine est la ligne la plus ancienne. */
+    private static void siftUp(long[] created, long[] ids, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!isNewer(created[parent], ids[parent], created[i], ids[i])) break;
+            swap(created, ids, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] created, long[] ids, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) return;
+            int right = left + 1;
+            int oldest = right < size && isNewer(created[left], ids[left], created[right], ids[right]) ? right : left;
+            if (!isNewer(created[i], ids[i], created[oldest], ids[oldest])) return;
+            swap(created, ids, i, oldest);
+            i = oldest;
+        }
+    }
+
+    private static void swap(long[] created, long[] ids, int a, int b) {
+        long c = created[a];
+        created[a] = created[b];
+        created[b] = c;
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+
+    private static int compare(double key, long id, double otherKey, long otherId) {
+        int cmp = Double.compare(key, otherKey);
+        return cmp != 0 ? cmp : Long.compare(id, otherId);
+    }
+}
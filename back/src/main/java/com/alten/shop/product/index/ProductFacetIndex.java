@@ -0,0 +1,155 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.FacetCount;
+import com.alten.shop.product.dto.ProductFacetsResponse;
+import com.alten.shop.product.dto.ProductResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agrégats de facettes en mémoire : nombre de produits par catégorie et par statut d'inventaire.
+ * <p>
+ * Les compteurs sont ajustés à chaque écriture (ajout, changement de catégorie/statut, suppression) :
+ * la lecture des facettes globales ne coûte que le nombre de catégories, jamais un GROUP BY sur la table.<br>
+ * Les catégories sont regroupées sans tenir compte de la casse, comme le filtre {@code category} ;
+ * le libellé affiché est celui du premier produit rencontré.
+ * </p>
+ */
+@Component
+public class ProductFacetIndex implements ProductIndex {
+
+    /** Catégorie et statut d'un produit indexé (pour décrémenter lors d'une mise à jour ou suppression). */
+    private record Bucket(String categoryKey, String category, String status) {}
+
+    /** Compteur mutable, protégé par le verrou de l'index. */
+    private static final class Counter {
+        private final String label;
+        private long count;
+
+        private Counter(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+    private final Map<String, Counter> categories = new HashMap<>();
+    private final Map<String, Counter> statuses = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            categories.clear();
+            statuses.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ProductResponse product) {
+        Bucket bucket = new Bucket(categoryKey(product.getCategory()), product.getCategory(), product.getInventoryStatus());
+        lock.writeLock().lock();
+        try {
+            Bucket previous = buckets.put(product.getId(), bucket);
+            if (previous != null) {
+                decrement(previous);
+            }
+            increment(categories, bucket.categoryKey(), bucket.category());
+            increment(statuses, bucket.status(), bucket.status());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Bucket previous = buckets.remove(id);
+            if (previous != null) {
+                decrement(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Facettes de tout le catalogue, lues directement sur les compteurs maintenus. */
+    public ProductFacetsResponse facets() {
+        lock.readLock().lock();
+        try {
+            return toResponse(buckets.size(), categories.values(), statuses.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facettes restreintes à un sous-ensemble de produits (ex. résultats d'une recherche).
+     * Coût proportionnel à la taille du sous-ensemble.
+     */
+    public ProductFacetsResponse facetsFor(Collection<Long> ids) {
+        Map<String, Counter> scopedCategories = new HashMap<>();
+        Map<String, Counter> scopedStatuses = new HashMap<>();
+        long total = 0;
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                Bucket bucket = buckets.get(id);
+                if (bucket != null) {
+                    increment(scopedCategories, bucket.categoryKey(), bucket.category());
+                    increment(scopedStatuses, bucket.status(), bucket.status());
+                    total++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return toResponse(total, scopedCategories.values(), scopedStatuses.values());
+    }
+
+    private void decrement(Bucket bucket) {
+        decrement(categories, bucket.categoryKey());
+        decrement(statuses, bucket.status());
+    }
+
+    private static void increment(Map<String, Counter> counters, String key, String label) {
+        counters.computeIfAbsent(key, k -> new Counter(label)).count++;
+    }
+
+    private static void decrement(Map<String, Counter> counters, String key) {
+        Counter counter = counters.get(key);
+        if (counter != null && --counter.count <= 0) {
+            counters.remove(key);
+        }
+    }
+
+    private static ProductFacetsResponse toResponse(long total, Collection<Counter> categoryCounters,
+                                                    Collection<Counter> statusCounters) {
+        return ProductFacetsResponse.builder()
+                .total(total)
+                .categories(sorted(categoryCounters))
+                .statuses(sorted(statusCounters))
+                .build();
+    }
+
+    private static List<FacetCount> sorted(Collection<Counter> counters) {
+        List<FacetCount> facets = new ArrayList<>(counters.size());
+        for (Counter counter : counters) {
+            facets.add(new FacetCount(counter.label, counter.count));
+        }
+        facets.sort(Comparator.comparingLong(FacetCount::getCount).reversed()
+                .thenComparing(FacetCount::getValue, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return facets;
+    }
+
+    /** Clé de regroupement d'une catégorie ("" pour un produit sans catégorie). */
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,542 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.ProductResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index de recherche tolérant aux fautes de frappe ("wirless mouse" trouve "Wireless Mouse").
+ * <p>
+ * - Vocabulaire des termes du nom, du code et de la catégorie, chaque terme ayant un numéro entier.<br>
+ * - Index de trigrammes sur le vocabulaire (trigramme → numéros de termes) : les termes proches d'un
+ *   terme saisi sont ceux qui partagent assez de trigrammes, confirmés ensuite par une distance d'édition.<br>
+ * - Postings terme → numéros internes (ordinaux) de produits, en tableaux {@code int[]} triés :
+ *   aucune collection d'objets par occurrence, intersections par fusion de tableaux triés.<br>
+ * - Tous les termes de la requête doivent correspondre (ET logique) ; le score d'un produit
+ *   décroît avec le nombre de corrections nécessaires. Les termes purement numériques ne sont
+ *   retrouvés qu'à l'identique.
+ * </p>
+ * Utilisé en repli de {@link ProductSearchIndex} quand la recherche exacte ne trouve rien.
+ */
+@Component
+public class ProductFuzzyIndex implements ProductIndex {
+
+    /** Termes d'au plus cette longueur : aucune correction (trop de voisins pour être utile). */
+    private static final int EXACT_MAX_LENGTH = 3;
+
+    /** Termes jusqu'à cette longueur : une correction ; au-delà, deux. */
+    private static final int ONE_EDIT_MAX_LENGTH = 6;
+
+    /** Marqueur de début / fin de terme pour les trigrammes de bord. */
+    private static final char BOUNDARY = '\u0000';
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<IntList> postings = new ArrayList<>();
+    private final Map<Long, IntList> trigrams = new HashMap<>();
+
+    private final LongIntMap ordinals = new LongIntMap();
+    private final IntList freeOrdinals = new IntList();
+    private long[] productIds = new long[1024];
+    private int[][] documentTerms = new int[1024][];
+    private String[] categories = new String[1024];
+    private String[] statuses = new String[1024];
+    private int ordinalCount;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            postings.clear();
+            trigrams.clear();
+            ordinals.clear();
+            freeOrdinals.clear();
+            productIds = new long[1024];
+            documentTerms = new int[1024][];
+            categories = new String[1024];
+            statuses = new String[1024];
+            ordinalCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ProductResponse product) {
+        Set<String> words = new HashSet<>();
+        words.addAll(TextAnalyzer.tokenize(product.getName()));
+        words.addAll(TextAnalyzer.tokenize(product.getCode()));
+        words.addAll(TextAnalyzer.tokenize(product.getCategory()));
+
+        lock.writeLock().lock();
+        try {
+            unindex(product.getId());
+            int ordinal = allocate(product.getId());
+            int[] ids = new int[words.size()];
+            int i = 0;
+            for (String word : words) {
+                int termId = termId(word);
+                postings.get(termId).insertSorted(ordinal);
+                ids[i++] = termId;
+            }
+            documentTerms[ordinal] = ids;
+            categories[ordinal] = product.getCategory() != null ? product.getCategory().trim() : null;
+            statuses[ordinal] = product.getInventoryStatus();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche approchée : chaque terme de {@code q} peut différer d'un terme indexé par
+     * 0 (≤ {@value #EXACT_MAX_LENGTH} caractères), 1 (≤ {@value #ONE_EDIT_MAX_LENGTH}) ou 2 corrections
+     * (insertion, suppression, substitution ou inversion de deux caractères voisins).
+     *
+     * @param q        texte libre
+     * @param category catégorie exacte, insensible à la casse (optionnelle)
+     * @param status   statut d'inventaire (optionnel)
+     * @return identifiants classés par score décroissant (moins de corrections d'abord), puis du plus récemment indexé au plus ancien
+     */
+    public List<Long> search(String q, String category, String status) {
+        List<String> words = TextAnalyzer.tokenize(q).stream().distinct().toList();
+        if (words.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            // intersection en partant du terme le plus sélectif
+            long[][] perWord = new long[words.size()][];
+            for (int w = 0; w < perWord.length; w++) {
+                perWord[w] = matchWord(words.get(w));
+                if (perWord[w].length == 0) return List.of();
+            }
+            Arrays.sort(perWord, Comparator.comparingInt(hits -> hits.length));
+
+            int[] matched = new int[perWord[0].length];
+            float[] scores = new float[perWord[0].length];
+            for (int i = 0; i < matched.length; i++) {
+                matched[i] = ordinalOf(perWord[0][i]);
+                scores[i] = scoreOf(perWord[0][i]);
+            }
+            for (int w = 1; w < perWord.length; w++) {
+                int n = intersect(matched, scores, perWord[w]);
+                if (n == 0) return List.of();
+                matched = Arrays.copyOf(matched, n);
+                scores = Arrays.copyOf(scores, n);
+            }
+
+            int n = 0;
+            for (int i = 0; i < matched.length; i++) {
+                int ordinal = matched[i];
+                if (matches(categories[ordinal], category) && matches(statuses[ordinal], status)) {
+                    matched[n] = ordinal;
+                    scores[n] = scores[i];
+                    n++;
+                }
+            }
+            return rank(matched, scores, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Classe les produits par score décroissant puis par ordinal décroissant (du plus récemment indexé au plus ancien).
+     * Les scores ne prennent que quelques valeurs (somme de 1/(1 + corrections) par terme) : répartition par
+     * paquets en un seul passage, sans tri des résultats. À appeler sous verrou de lecture.
+     *
+     * @param matched ordinaux triés par ordre croissant
+     */
+    private List<Long> rank(int[] matched, float[] scores, int n) {
+        float[] levels = new float[8];
+        int levelCount = 0;
+        int[] levelOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            int level = 0;
+            while (level < levelCount && levels[level] != scores[i]) level++;
+            if (level == levelCount) {
+                if (levelCount == levels.length) levels = Arrays.copyOf(levels, levelCount * 2);
+                levels[levelCount++] = scores[i];
+            }
+            levelOf[i] = level;
+        }
+
+        // position de départ de chaque paquet, du meilleur score au moins bon
+        int[] sizes = new int[levelCount];
+        for (int i = 0; i < n; i++) sizes[levelOf[i]]++;
+        int[] starts = new int[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            for (int other = 0; other < levelCount; other++) {
+                if (levels[other] > levels[level]) starts[level] += sizes[other];
+            }
+        }
+
+        Long[] ranked = new Long[n];
+        for (int i = n - 1; i >= 0; i--) {
+            ranked[starts[levelOf[i]]++] = productIds[matched[i]];
+        }
+        return Arrays.asList(ranked);
+    }
+
+    /**
+     * Produits contenant un terme proche de {@code word}, triés par ordinal,
+     * sous forme {@code ordinal << 32 | bits du score}. À appeler sous verrou de lecture.
+     */
+    private long[] matchWord(String word) {
+        int maxEdits = word.length() <= EXACT_MAX_LENGTH || isNumeric(word) ? 0
+                : word.length() <= ONE_EDIT_MAX_LENGTH ? 1 : 2;
+        IntList candidates = maxEdits == 0 ? exactTerm(word) : similarTerms(word, maxEdits);
+
+        // postings déjà triés par ordinal : fusion deux à deux, sans tri global
+        long[] hits = new long[0];
+        for (int i = 0; i < candidates.size; i += 2) {
+            IntList docs = postings.get(candidates.values[i]);
+            long bits = Float.floatToIntBits(1f / (1 + candidates.values[i + 1])) & 0xFFFFFFFFL;
+            long[] termHits = new long[docs.size];
+            for (int j = 0; j < docs.size; j++) {
+                termHits[j] = ((long) docs.values[j] << 32) | bits;
+            }
+            hits = hits.length == 0 ? termHits : merge(hits, termHits);
+        }
+        return hits;
+    }
+
+    /**
+     * Union de deux résultats triés par ordinal ; un produit contenant plusieurs termes proches
+     * garde le meilleur score.
+     */
+    private static long[] merge(long[] left, long[] right) {
+        long[] merged = new long[left.length + right.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            int leftOrdinal = ordinalOf(left[i]);
+            int rightOrdinal = ordinalOf(right[j]);
+            if (leftOrdinal < rightOrdinal) {
+                merged[n++] = left[i++];
+            } else if (leftOrdinal > rightOrdinal) {
+                merged[n++] = right[j++];
+            } else {
+                merged[n++] = Math.max(left[i++], right[j++]);
+            }
+        }
+        while (i < left.length) merged[n++] = left[i++];
+        while (j < right.length) merged[n++] = right[j++];
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    /** Couples (terme, 0) pour le terme exact s'il existe. */
+    private IntList exactTerm(String word) {
+        IntList result = new IntList();
+        Integer termId = termIds.get(word);
+        if (termId != null) {
+            result.add(termId);
+            result.add(0);
+        }
+        return result;
+    }
+
+    /**
+     * Couples (terme, distance) des termes à au plus {@code maxEdits} corrections de {@code word}.
+     * Filtre par trigrammes : une insertion, une suppression ou une substitution détruit au plus trois trigrammes,
+     * une inversion de deux caractères voisins jusqu'à quatre ("mouse" / "muose" : {@code mou}, {@code ous},
+     * {@code use} et le trigramme de début). La borne retient donc quatre trigrammes perdus par correction.
+     */
+    private IntList similarTerms(String word, int maxEdits) {
+        long[] grams = trigramsOf(word);
+        int required = grams.length - 4 * maxEdits;
+
+        int total = 0;
+        IntList[] lists = new IntList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = trigrams.get(grams[i]);
+            if (lists[i] != null) total += lists[i].size;
+        }
+        int[] candidates = new int[total];
+        int n = 0;
+        for (IntList list : lists) {
+            if (list == null) continue;
+            System.arraycopy(list.values, 0, candidates, n, list.size);
+            n += list.size;
+        }
+        Arrays.sort(candidates, 0, n);
+
+        IntList result = new IntList();
+        for (int i = 0; i < n; ) {
+            int termId = candidates[i];
+            int shared = 0;
+            while (i < n && candidates[i] == termId) {
+                shared++;
+                i++;
+            }
+            if (shared < required || postings.get(termId).size == 0) continue;
+            String term = terms.get(termId);
+            if (Math.abs(term.length() - word.length()) > maxEdits) continue;
+            int distance = distance(word, term, maxEdits);
+            if (distance <= maxEdits) {
+                result.add(termId);
+                result.add(distance);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Intersecte les résultats courants (triés par ordinal) avec ceux d'un nouveau terme, en cumulant les scores.
+     *
+     * @return nombre de produits conservés (en tête des tableaux)
+     */
+    private static int intersect(int[] matched, float[] scores, long[] hits) {
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < matched.length && j < hits.length) {
+            int ordinal = ordinalOf(hits[j]);
+            if (matched[i] < ordinal) {
+                i++;
+            } else if (matched[i] > ordinal) {
+                j++;
+            } else {
+                matched[n] = matched[i];
+                scores[n] = scores[i] + scoreOf(hits[j]);
+                n++;
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Distance de Damerau-Levenshtein restreinte (inversion de caractères voisins comptée pour 1),
+     * abandonnée dès qu'elle dépasse {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) return max + 1;
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /** Trigrammes distincts du terme encadré de marqueurs de bord, chacun encodé sur 48 bits. */
+    private static long[] trigramsOf(String term) {
+        String padded = BOUNDARY + term + BOUNDARY;
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    /** Un nombre (référence, quantité…) ne se corrige pas : « 1234 » ne doit pas trouver « 1243 ». */
+    private static boolean isNumeric(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (!Character.isDigit(term.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /** Numéro du terme, créé (et indexé par trigrammes, sauf s'il est numérique) à sa première apparition. À appeler sous verrou d'écriture. */
+    private int termId(String term) {
+        Integer existing = termIds.get(term);
+        if (existing != null) return existing;
+
+        int termId = terms.size();
+        termIds.put(term, termId);
+        terms.add(term);
+        postings.add(new IntList());
+        if (!isNumeric(term)) {
+            for (long gram : trigramsOf(term)) {
+                trigrams.computeIfAbsent(gram, g -> new IntList()).add(termId);
+            }
+        }
+        return termId;
+    }
+
+    /** Ordinal interne d'un produit, réutilisant ceux des produits supprimés. À appeler sous verrou d'écriture. */
+    private int allocate(long id) {
+        int ordinal = freeOrdinals.size > 0 ? freeOrdinals.values[--freeOrdinals.size] : ordinalCount++;
+        if (ordinal >= productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            documentTerms = Arrays.copyOf(documentTerms, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+        }
+        productIds[ordinal] = id;
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    /**
+     * Retire un produit de ses postings. Les termes devenus orphelins restent dans le vocabulaire
+     * (postings vides, ignorés à la recherche) pour être réutilisés. À appeler sous verrou d'écriture.
+     */
+    private void unindex(Long id) {
+        int ordinal = ordinals.remove(id);
+        if (ordinal < 0) return;
+        for (int termId : documentTerms[ordinal]) {
+            postings.get(termId).removeSorted(ordinal);
+        }
+        documentTerms[ordinal] = null;
+        categories[ordinal] = null;
+        statuses[ordinal] = null;
+        freeOrdinals.add(ordinal);
+    }
+
+    private static int ordinalOf(long hit) {
+        return (int) (hit >>> 32);
+    }
+
+    private static float scoreOf(long hit) {
+        return Float.intBitsToFloat((int) hit);
+    }
+
+    private static boolean matches(String value, String expected) {
+        return expected == null || expected.isBlank() || expected.trim().equalsIgnoreCase(value);
+    }
+
+    /** Table identifiant produit → ordinal à adressage ouvert (sondage linéaire), sans boxing. */
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        long[] keys = newKeys(1024);
+        int[] values = new int[1024];
+        int size;
+
+        void put(long key, int value) {
+            if ((size + 1) * 4 > keys.length * 3) resize();
+            int slot = slot(key, keys.length);
+            while (keys[slot] != EMPTY && keys[slot] != key) slot = (slot + 1) & (keys.length - 1);
+            if (keys[slot] == EMPTY) size++;
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        /** Retire la clé et renvoie sa valeur, ou -1 si elle est absente. */
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key, keys.length);
+            while (keys[slot] != key) {
+                if (keys[slot] == EMPTY) return -1;
+                slot = (slot + 1) & mask;
+            }
+            int value = values[slot];
+            // décalage arrière : les clés suivantes de la grappe reviennent vers leur position idéale
+            int hole = slot;
+            for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int ideal = slot(keys[next], keys.length);
+                if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY;
+            size--;
+            return value;
+        }
+
+        void clear() {
+            keys = newKeys(1024);
+            values = new int[1024];
+            size = 0;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int slot(long key, int capacity) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & (capacity - 1);
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+
+    /** Liste d'entiers extensible, sans boxing. */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        /** Insère en conservant l'ordre croissant (ajout en fin dans le cas courant). */
+        void insertSorted(int value) {
+            if (size == 0 || values[size - 1] < value) {
+                add(value);
+                return;
+            }
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) return;
+            at = -at - 1;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+            size++;
+        }
+
+        void removeSorted(int value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at < 0) return;
+            System.arraycopy(values, at + 1, values, at, size - at - 1);
+            size--;
+        }
+
+        void clear() {
+            values = new int[4];
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.ProductResponse;
+
+/**
+ * Structure en mémoire dérivée du catalogue produit (index de recherche, agrégats…).
+ * <p>
+ * Les implémentations sont alimentées par {@link ProductIndexer} : un chargement complet au démarrage,
+ * puis une mise à jour incrémentale après chaque écriture validée.
+ * Elles doivent supporter des lectures concurrentes pendant une mise à jour.
+ * </p>
+ */
+public interface ProductIndex {
+
+    /** Vide entièrement l'index (avant un rechargement complet). */
+    void clear();
+
+    /** Ajoute ou remplace un produit dans l'index. */
+    void index(ProductResponse product);
+
+    /** Retire un produit de l'index (sans effet s'il est absent). */
+    void remove(Long id);
+}
@@ -0,0 +1,152 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.Product;
+import com.alten.shop.product.ProductRepository;
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.alten.shop.product.mapper.ProductMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Alimente toutes les {@link ProductIndex} déclarées dans le contexte Spring.
+ * <p>
+ * - Au démarrage : un unique parcours en streaming de la table produit (lecture seule,
+ *   entités détachées au fil de l'eau) alimente tous les index en parallèle du trafic.<br>
+ * - Ensuite : chaque {@link ProductChangedEvent} validé (AFTER_COMMIT) est appliqué à tous les index.<br>
+ * - Les événements reçus pendant le chargement sont mis de côté puis rejoués, afin qu'un état
+ *   plus ancien lu par le chargement n'écrase jamais une écriture plus récente.<br>
+ * - Les écouteurs après commit ne s'exécutent pas forcément dans l'ordre des commits (décréments concurrents
+ *   d'un même produit) : la dernière version appliquée est retenue par produit, un état plus ancien est ignoré
+ *   et un produit supprimé garde une pierre tombale (une mise à jour en retard ne le fait pas réapparaître).
+ * </p>
+ * Tant que {@link #isReady()} est faux, les appelants doivent se rabattre sur la base de données.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIndexer.class);
+
+    private final List<ProductIndex> indexes;
+    private final ProductRepository repository;
+    private final ProductMapper mapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    /** Version marquant un produit supprimé : plus récente que toute mise à jour. */
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<ProductChangedEvent> pending = new ArrayDeque<>();
+    /** Dernière version indexée par produit (sous {@link #lock}, ou par le chargement avant {@link #ready}). */
+    private final Map<Long, Long> versions = new HashMap<>();
+    private volatile boolean ready;
+
+    /** Vrai une fois le chargement initial terminé. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Chargement initial, exécuté en tâche de fond pour ne pas retarder le démarrage.
+     */
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long start = System.nanoTime();
+        indexes.forEach(ProductIndex::clear);
+        versions.clear();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        Long loaded = tx.execute(status -> {
+            long count = 0;
+            try (Stream<Product> products = repository.streamAllBy()) {
+                for (Product product : (Iterable<Product>) products::iterator) {
+                    var response = mapper.toResponse(product);
+                    entityManager.detach(product);
+                    if (response.getVersion() != null) {
+                        versions.put(response.getId(), response.getVersion());
+                    }
+                    indexes.forEach(index -> index.index(response));
+                    count++;
+                }
+            }
+            return count;
+        });
+
+        lock.lock();
+        try {
+            ProductChangedEvent event;
+            while ((event = pending.poll()) != null) {
+                apply(event);
+            }
+            ready = true;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Product indexes loaded: {} products into {} indexes in {} ms",
+                loaded, indexes.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Mise à jour incrémentale après commit d'une écriture produit.
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.lock();
+        try {
+            if (!ready) {
+                pending.add(event);
+                return;
+            }
+            apply(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            versions.put(event.id(), DELETED);
+            indexes.forEach(index -> index.remove(event.id()));
+        } else if (acceptVersion(event.product())) {
+            indexes.forEach(index -> index.index(event.product()));
+        } else {
+            log.debug("Stale product event ignored by indexes: id={}, version={}",
+                    event.id(), event.product().getVersion());
+        }
+    }
+
+    /** Vrai (et version retenue) si l'état est plus récent que celui déjà indexé. */
+    private boolean acceptVersion(ProductResponse product) {
+        Long applied = versions.get(product.getId());
+        Long version = product.getVersion();
+        if (version == null) {
+            return applied == null;
+        }
+        if (applied != null && version <= applied) {
+            return false;
+        }
+        versions.put(product.getId(), version);
+        return true;
+    }
+}
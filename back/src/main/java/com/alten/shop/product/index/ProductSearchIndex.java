@@ -0,0 +1,196 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.ProductResponse;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire pour la recherche libre ({@code q}) sur le nom, le code et la description.
+ * <p>
+ * - Dictionnaire trié terme → postings (identifiant produit → poids), ce qui permet la recherche
+ *   par préfixe ("wire" trouve "wireless").<br>
+ * - Pondération par champ : code &gt; nom &gt; description, combinée à un IDF.<br>
+ * - Tous les termes de la requête doivent correspondre (ET logique).<br>
+ * - Les critères catégorie / statut sont appliqués en mémoire sur les métadonnées du document.
+ * </p>
+ * Le coût d'une recherche dépend du nombre de résultats, pas de la taille du catalogue.
+ */
+@Component
+public class ProductSearchIndex implements ProductIndex {
+
+    private static final float CODE_WEIGHT = 3f;
+    private static final float NAME_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    /** Une correspondance par préfixe compte moins qu'un terme exact. */
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    /** En dessous de cette longueur, un terme de requête n'est pas étendu par préfixe. */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    /** Métadonnées conservées par produit (suppression et filtres). */
+    private record Document(Set<String> terms, String category, String status, LocalDateTime createdAt) {}
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ProductResponse product) {
+        Map<String, Float> weights = new HashMap<>();
+        accumulate(weights, product.getCode(), CODE_WEIGHT);
+        accumulate(weights, product.getName(), NAME_WEIGHT);
+        accumulate(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        Document document = new Document(weights.keySet(), product.getCategory(),
+                product.getInventoryStatus(), product.getCreatedAt());
+
+        lock.writeLock().lock();
+        try {
+            unindex(product.getId());
+            weights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(product.getId(), weight));
+            documents.put(product.getId(), document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Nombre de produits indexés. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les produits correspondant à tous les termes de {@code q}.
+     *
+     * @param q        texte libre
+     * @param category catégorie exacte, insensible à la casse (optionnelle)
+     * @param status   statut d'inventaire (optionnel)
+     * @return identifiants classés par pertinence décroissante, puis du plus récent au plus ancien
+     */
+    public List<Long> search(String q, String category, String status) {
+        List<String> terms = TextAnalyzer.tokenize(q).stream().distinct().toList();
+        if (terms.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = scoreAll(terms);
+            if (scores.isEmpty()) return List.of();
+
+            List<Map.Entry<Long, Float>> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Float> hit : scores.entrySet()) {
+                Document document = documents.get(hit.getKey());
+                if (matches(document.category(), category) && matches(document.status(), status)) {
+                    hits.add(hit);
+                }
+            }
+            hits.sort(Map.Entry.<Long, Float>comparingByValue().reversed()
+                    .thenComparing(hit -> documents.get(hit.getKey()).createdAt(),
+                            Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+            return hits.stream().map(Map.Entry::getKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ensemble (non trié) des produits correspondant à tous les termes de {@code q}.
+     * Évite le tri par pertinence quand seul l'ensemble des résultats importe (comptages, facettes).
+     */
+    public Set<Long> matching(String q) {
+        List<String> terms = TextAnalyzer.tokenize(q).stream().distinct().toList();
+        if (terms.isEmpty()) return Set.of();
+
+        lock.readLock().lock();
+        try {
+            return scoreAll(terms).keySet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Scores cumulés des produits correspondant à tous les termes (ET logique). À appeler sous verrou de lecture. */
+    private Map<Long, Float> scoreAll(List<String> terms) {
+        Map<Long, Float> scores = null;
+        for (String term : terms) {
+            Map<Long, Float> termScores = score(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) break;
+        }
+        return scores;
+    }
+
+    /** Scores d'un terme de requête : terme exact et, si assez long, termes qui le prolongent. */
+    private Map<Long, Float> score(String term) {
+        Map<Long, Float> termScores = new HashMap<>();
+        Map<String, Map<Long, Float>> candidates = term.length() < MIN_PREFIX_LENGTH
+                ? (postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of())
+                : postings.subMap(term, true, term + Character.MAX_VALUE, true);
+
+        int total = Math.max(documents.size(), 1);
+        candidates.forEach((indexed, docs) -> {
+            float idf = (float) Math.log(1 + (double) total / docs.size());
+            float factor = indexed.equals(term) ? 1f : PREFIX_FACTOR;
+            docs.forEach((id, weight) -> termScores.merge(id, weight * idf * factor, Math::max));
+        });
+        return termScores;
+    }
+
+    private void unindex(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) return;
+        for (String term : previous.terms()) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) postings.remove(term);
+            }
+        }
+    }
+
+    private static void accumulate(Map<String, Float> weights, String text, float weight) {
+        for (String term : TextAnalyzer.tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    private static boolean matches(String value, String expected) {
+        return expected == null || expected.isBlank() || expected.trim().equalsIgnoreCase(value);
+    }
+}
@@ -0,0 +1,268 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.ProductSuggestion;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Arbre préfixe (trie) en mémoire pour l'autocomplétion sur le nom et le code des produits.
+ * <p>
+ * - Clés indexées : le code, le nom, et le nom à partir de chacun de ses mots
+ *   ("Souris sans fil" est proposé pour "sou", "sans" ou "fil").<br>
+ * - Chaque nœud conserve ses {@value #TOP_K} meilleurs produits (note décroissante) :
+ *   une suggestion coûte la descente du préfixe, indépendamment du nombre de produits qui le partagent.<br>
+ * - Mise à jour incrémentale : un ajout propose le produit le long de ses chemins ; un retrait ne
+ *   recalcule que les nœuds qui le contenaient, à partir des meilleurs de leurs enfants.<br>
+ * - Les clés sont tronquées à {@value #MAX_KEY_LENGTH} caractères : au-delà, un préfixe saisi est
+ *   déjà assez sélectif, et la taille de l'arbre reste bornée.
+ * </p>
+ */
+@Component
+public class ProductSuggestIndex implements ProductIndex {
+
+    /** Nombre maximal de propositions conservées par nœud (et renvoyées par requête). */
+    public static final int TOP_K = 10;
+
+    private static final int MAX_KEY_LENGTH = 32;
+
+    /** Nombre de mots du nom à partir desquels une complétion est possible. */
+    private static final int MAX_WORD_STARTS = 6;
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingDouble(Entry::rating).reversed()
+            .thenComparing(Entry::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingLong(Entry::id);
+
+    /** Données minimales d'un produit pour le classement et l'affichage. */
+    private record Entry(long id, String code, String name, String category, double rating) {}
+
+    /** Nœud de l'arbre : enfants triés par caractère, produits dont une clé se termine ici, meilleurs du sous-arbre. */
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        char[] labels = new char[0];
+        Node[] children = NO_CHILDREN;
+        List<Entry> terminals;
+        Entry[] top = NO_ENTRIES;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) return children[i];
+            int at = -i - 1;
+            Node created = new Node();
+            labels = insert(labels, at, c);
+            Node[] grown = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            grown[at] = created;
+            children = grown;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i < 0) return;
+            char[] shrunkLabels = new char[labels.length - 1];
+            System.arraycopy(labels, 0, shrunkLabels, 0, i);
+            System.arraycopy(labels, i + 1, shrunkLabels, i, labels.length - i - 1);
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, i);
+            System.arraycopy(children, i + 1, shrunk, i, children.length - i - 1);
+            labels = shrunkLabels;
+            children = shrunk;
+        }
+
+        boolean isEmpty() {
+            return children.length == 0 && (terminals == null || terminals.isEmpty());
+        }
+
+        boolean contains(long id) {
+            for (Entry entry : top) {
+                if (entry.id() == id) return true;
+            }
+            return false;
+        }
+
+        /** Propose un produit parmi les meilleurs du nœud (sans doublon). */
+        void offer(Entry candidate) {
+            if (contains(candidate.id())) return;
+            if (top.length == TOP_K && RANKING.compare(candidate, top[TOP_K - 1]) >= 0) return;
+            int at = 0;
+            while (at < top.length && RANKING.compare(top[at], candidate) < 0) at++;
+            Entry[] next = new Entry[Math.min(top.length + 1, TOP_K)];
+            System.arraycopy(top, 0, next, 0, at);
+            next[at] = candidate;
+            System.arraycopy(top, at, next, at + 1, next.length - at - 1);
+            top = next;
+        }
+
+        /** Recalcule les meilleurs du nœud à partir de ses propres produits et des meilleurs de ses enfants. */
+        void recompute() {
+            top = NO_ENTRIES;
+            if (terminals != null) terminals.forEach(this::offer);
+            for (Node child : children) {
+                for (Entry entry : child.top) offer(entry);
+            }
+        }
+
+        private static char[] insert(char[] array, int at, char c) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, at);
+            grown[at] = c;
+            System.arraycopy(array, at, grown, at + 1, array.length - at);
+            return grown;
+        }
+    }
+
+    private final Node root = new Node();
+    private final Map<Long, List<String>> keysById = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.labels = new char[0];
+            root.children = Node.NO_CHILDREN;
+            root.terminals = null;
+            root.top = Node.NO_ENTRIES;
+            keysById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ProductResponse product) {
+        Entry entry = new Entry(product.getId(), product.getCode(), product.getName(), product.getCategory(),
+                product.getRating() != null ? product.getRating() : 0d);
+        List<String> keys = keysOf(product);
+
+        lock.writeLock().lock();
+        try {
+            unindex(product.getId());
+            for (String key : keys) {
+                insert(key, entry);
+            }
+            keysById.put(product.getId(), keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Meilleures complétions du préfixe saisi (casse, accents et ponctuation ignorés).
+     *
+     * @param prefix début du nom, d'un mot du nom ou du code
+     * @param limit  nombre maximal de propositions (borné à {@value #TOP_K})
+     * @return propositions classées par note décroissante
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String key = truncate(normalizeKey(prefix));
+        if (key.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) return List.of();
+
+            int count = Math.min(limit, node.top.length);
+            List<ProductSuggestion> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Entry entry = node.top[i];
+                suggestions.add(new ProductSuggestion(entry.id(), entry.code(), entry.name(),
+                        entry.category(), entry.rating()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** À appeler sous verrou d'écriture. */
+    private void insert(String key, Entry entry) {
+        Node node = root;
+        node.offer(entry);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.offer(entry);
+        }
+        if (node.terminals == null) node.terminals = new ArrayList<>(1);
+        node.terminals.add(entry);
+    }
+
+    /** Retire un produit de tous ses chemins, puis recalcule les nœuds concernés du bas vers le haut. À appeler sous verrou d'écriture. */
+    private void unindex(Long id) {
+        List<String> keys = keysById.remove(id);
+        if (keys == null) return;
+
+        for (String key : keys) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            int depth = 0;
+            while (depth < key.length() && path[depth] != null) {
+                path[depth + 1] = path[depth].child(key.charAt(depth));
+                depth++;
+            }
+            Node last = path[key.length()];
+            if (last == null) continue;
+            if (last.terminals != null) last.terminals.removeIf(entry -> entry.id() == id);
+
+            for (int i = key.length(); i >= 0; i--) {
+                Node node = path[i];
+                if (i > 0 && node.isEmpty()) {
+                    path[i - 1].removeChild(key.charAt(i - 1));
+                } else if (node.contains(id)) {
+                    node.recompute();
+                }
+            }
+        }
+    }
+
+    /** Clés d'un produit : code, nom complet, puis le nom à partir de chaque mot suivant. */
+    private static List<String> keysOf(ProductResponse product) {
+        Set<String> keys = new LinkedHashSet<>();
+        addKey(keys, product.getCode());
+        List<String> words = TextAnalyzer.tokenize(product.getName());
+        for (int i = 0; i < words.size() && i < MAX_WORD_STARTS; i++) {
+            addKey(keys, String.join(" ", words.subList(i, words.size())));
+        }
+        return List.copyOf(keys);
+    }
+
+    private static void addKey(Set<String> keys, String text) {
+        String key = normalizeKey(text);
+        if (!key.isEmpty()) {
+            keys.add(truncate(key));
+        }
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    /** Mots normalisés séparés par une espace unique ("PRD-AB12" → "prd ab12"). */
+    private static String normalizeKey(String text) {
+        return String.join(" ", TextAnalyzer.tokenize(text));
+    }
+}
@@ -0,0 +1,44 @@
+package com.alten.shop.product.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation et découpage du texte partagés par les index produit.
+ * <p>
+ * Règles : minuscules, accents supprimés ("Écran" → "ecran"),
+ * découpage sur tout caractère non alphanumérique ("PRD-AB12" → "prd", "ab12").
+ * </p>
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextAnalyzer() {}
+
+    /**
+     * Minuscules sans accents ; renvoie une chaîne vide pour {@code null}.
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Découpe un texte normalisé en termes (ordre conservé, doublons inclus).
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
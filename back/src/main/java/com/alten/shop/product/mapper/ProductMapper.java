@@ -4,6 +4,7 @@ package com.alten.shop.product.mapper;
 import com.alten.shop.product.Product;
 import com.alten.shop.product.dto.ProductRequest;
 import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.ProductSummaryResponse;
 import org.mapstruct.*;
 
 
@@ -31,6 +32,9 @@ public interface ProductMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "lastModifiedBy", ignore = true)
     @Mapping(target = "inventoryStatus", ignore = true)     // dérivé de quantity
+    @Mapping(target = "viewCount", ignore = true)           // compteur de consultations
+    @Mapping(target = "ratingSum", ignore = true)           // agrégat des avis
+    @Mapping(target = "ratingCount", ignore = true)
     Product toEntity(ProductRequest request);
 
     /**
@@ -46,6 +50,9 @@ public interface ProductMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "lastModifiedBy", ignore = true)
     @Mapping(target = "inventoryStatus", ignore = true)
+    @Mapping(target = "viewCount", ignore = true)
+    @Mapping(target = "ratingSum", ignore = true)
+    @Mapping(target = "ratingCount", ignore = true)
     void updateEntity(@MappingTarget Product entity, ProductRequest request);
 
     /**
@@ -55,4 +62,9 @@ public interface ProductMapper {
     @Mapping(target = "updatedAt", source = "lastModifiedDate")
     @Mapping(target = "inventoryStatus", expression = "java(entity.getInventoryStatus() != null ? entity.getInventoryStatus().name() : null)")
     ProductResponse toResponse(Product entity);
+
+    /**
+     * Réduit une réponse complète (ex : issue du cache) à sa forme de liste.
+     */
+    ProductSummaryResponse toSummary(ProductResponse response);
 }
@@ -0,0 +1,48 @@
+package com.alten.shop.product.pagination;
+
+import com.alten.shop.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position d'une pagination par clé (keyset / seek) sur l'ordre {@code createdDate DESC, id DESC}.
+ * <p>
+ * Le curseur transmis au client est opaque : Base64 URL-safe de {@code createdDate|id}.
+ * Le client se contente de renvoyer la valeur {@code nextCursor} reçue pour obtenir la page suivante.
+ * </p>
+ *
+ * @param createdDate date de création du dernier élément renvoyé
+ * @param id          identifiant du dernier élément renvoyé (départage les dates égales)
+ */
+public record ProductCursor(LocalDateTime createdDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encode la position en jeton opaque.
+     */
+    public String encode() {
+        String raw = createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un jeton reçu du client.
+     *
+     * @throws InvalidCursorException si le jeton est illisible
+     */
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            return new ProductCursor(
+                    LocalDateTime.parse(raw.substring(0, sep)),
+                    Long.valueOf(raw.substring(sep + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
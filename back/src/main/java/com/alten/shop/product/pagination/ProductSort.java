@@ -0,0 +1,45 @@
+package com.alten.shop.product.pagination;
+
+import com.alten.shop.exception.InvalidProductSortException;
+import com.alten.shop.product.ProductSpecifications;
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+
+/**
+ * Ordres de tri proposés pour les listes de produits ({@code sort=price_asc}, ...).
+ * <p>Chaque ordre est total (départage par id) pour une pagination stable.</p>
+ */
+public enum ProductSort {
+
+    /** Du plus récent au plus ancien (ordre par défaut, celui de la pagination par clé). */
+    NEWEST(ProductSpecifications.SEEK_ORDER),
+    PRICE_ASC(Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"))),
+    PRICE_DESC(Sort.by(Sort.Order.desc("price"), Sort.Order.desc("id"))),
+    RATING_DESC(Sort.by(Sort.Order.desc("rating"), Sort.Order.desc("id"))),
+    /** Les plus consultés d'abord (compteurs écrits périodiquement en base, voir ProductViewCounter). */
+    POPULAR(Sort.by(Sort.Order.desc("viewCount"), Sort.Order.desc("id")));
+
+    private final Sort sort;
+
+    ProductSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    /** Tri équivalent pour les requêtes JPA. */
+    public Sort toSort() {
+        return sort;
+    }
+
+    /** Conversion insensible à la casse ; {@link #NEWEST} si absent, 400 si inconnu. */
+    public static ProductSort from(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            throw new InvalidProductSortException(value);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.alten.shop.product.popularity;
+
+import com.alten.shop.product.ProductJdbcRepository;
+import com.alten.shop.product.ProductJdbcRepository.ViewIncrement;
+import com.alten.shop.product.cache.ProductPageCache;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.alten.shop.product.pagination.ProductSort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compteurs de consultations produit en mémoire, écrits en base par lots périodiques.
+ * <p>
+ * - Une consultation coûte une lecture de {@link ConcurrentHashMap} et un {@link LongAdder#increment()} :
+ *   le compteur est réparti en cellules (une par cœur sous contention), aucun verrou, aucune écriture en base.<br>
+ * - Toutes les {@code flush-interval}, les consultations comptées depuis le flush précédent sont ajoutées à
+ *   {@code product.view_count} par lots d'UPDATE ({@code view_count = view_count + n}), dans l'ordre des ids.
+ *   Les compteurs ne sont jamais remis à zéro : la part déjà écrite est mémorisée, si bien qu'une consultation
+ *   concurrente au flush n'est jamais perdue et qu'un flush en échec est simplement rejoué au suivant.<br>
+ * - Au démarrage, les compteurs persistés sont relus pour {@link #popularity(long)} ; les flushs attendent
+ *   cette lecture pour ne pas compter deux fois les mêmes consultations.
+ * </p>
+ * Le tri {@code sort=POPULAR} des listes lit {@code view_count} en base (index dédié) ; ses pages en cache sont
+ * retirées après chaque flush. Seuls les résultats de la recherche libre, déjà en mémoire, sont classés
+ * par {@link #popularity(long)}, qui ne compte que les consultations déjà écrites : les deux chemins donnent le même
+ * ordre, qui ne change qu'à un flush ({@link #epoch()}, repris dans l'ETag des listes triées par popularité).
+ */
+@Component
+public class ProductViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductViewCounter.class);
+
+    /** Consultations d'un produit. */
+    private static final class Counter {
+        /** Consultations comptées par cette instance depuis son démarrage. */
+        final LongAdder views = new LongAdder();
+        /** Part de {@link #views} déjà écrite en base (écrite par le thread de flush uniquement). */
+        volatile long flushed;
+        /** {@code view_count} lu au démarrage. */
+        volatile long persisted;
+    }
+
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final ProductJdbcRepository jdbcRepository;
+    private final ProductPageCache pageCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    /** Incrémenté après chaque flush écrit : l'ordre par popularité a pu changer. */
+    private final AtomicLong epoch = new AtomicLong();
+    private volatile boolean loaded;
+
+    public ProductViewCounter(
+            ProductJdbcRepository jdbcRepository,
+            ProductPageCache pageCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${application.product.popularity.batch-size:1000}") int batchSize
+    ) {
+        this.jdbcRepository = jdbcRepository;
+        this.pageCache = pageCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /** Compte une consultation (chemin de lecture : quelques nanosecondes, sans verrou ni I/O). */
+    public void recordView(long productId) {
+        Counter counter = counters.get(productId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(productId, id -> new Counter());
+        }
+        counter.views.increment();
+    }
+
+    /**
+     * Popularité vue par cette instance : compteur persisté au démarrage plus consultations écrites depuis.
+     * Stable entre deux flushs, comme {@code view_count} en base.
+     */
+    public long popularity(long productId) {
+        Counter counter = counters.get(productId);
+        return counter == null ? 0 : counter.persisted + counter.flushed;
+    }
+
+    /** Numéro du dernier flush écrit ; change chaque fois que l'ordre par popularité a pu changer. */
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Relit les compteurs persistés, en tâche de fond pour ne pas retarder le démarrage.
+     */
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        try {
+            jdbcRepository.forEachViewCount((id, views) -> counters.computeIfAbsent(id, k -> new Counter()).persisted = views);
+            log.info("Product view counts loaded: {} products in {} ms", counters.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Could not load product view counts, popularity starts from zero: {}", e.getMessage());
+        } finally {
+            loaded = true;
+        }
+    }
+
+    /** Flush périodique (rien tant que les compteurs persistés ne sont pas relus). */
+    @Scheduled(initialDelayString = "${application.product.popularity.flush-interval:30s}",
+            fixedDelayString = "${application.product.popularity.flush-interval:30s}")
+    public void flush() {
+        if (loaded) {
+            flushPending();
+        }
+    }
+
+    /** Dernier flush à l'arrêt, avant la fermeture du pool de connexions. */
+    @PreDestroy
+    void flushOnShutdown() {
+        flushPending();
+    }
+
+    /** Oublie le compteur d'un produit supprimé. */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+            counters.remove(event.id());
+        }
+    }
+
+    private void flushPending() {
+        flushLock.lock();
+        try {
+            List<ViewIncrement> increments = new ArrayList<>();
+            List<Counter> flushedCounters = new ArrayList<>();
+            for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+                Counter counter = entry.getValue();
+                long delta = counter.views.sum() - counter.flushed;
+                if (delta > 0) {
+                    increments.add(new ViewIncrement(entry.getKey(), delta));
+                    flushedCounters.add(counter);
+                }
+            }
+            if (increments.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> jdbcRepository.addViews(increments, batchSize));
+            long views = 0;
+            for (int i = 0; i < increments.size(); i++) {
+                flushedCounters.get(i).flushed += increments.get(i).views();
+                views += increments.get(i).views();
+            }
+            epoch.incrementAndGet();
+            pageCache.invalidateSort(ProductSort.POPULAR);
+            log.debug("Product views flushed: {} views on {} products in {} ms",
+                    views, increments.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Product view flush failed, retried at next flush: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
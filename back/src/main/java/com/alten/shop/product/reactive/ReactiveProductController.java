@@ -0,0 +1,82 @@
+package com.alten.shop.product.reactive;
+
+import com.alten.shop.exception.ProductNotFoundException;
+import com.alten.shop.product.dto.ProductFilter;
+import com.alten.shop.product.dto.ProductResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * API de lecture produits non bloquante, parallèle à {@code /products}.
+ * <p>
+ * Mêmes contrats ({@link ProductResponse}) et mêmes filtres ({@link ProductFilter}) que l'API classique,
+ * mais les lignes sont lues par le driver R2DBC : aucun thread n'est bloqué pendant l'accès à la base.
+ * Spring MVC adapte les types Mono/Flux en traitement asynchrone ; en {@code application/x-ndjson},
+ * chaque produit est écrit dès sa lecture et la demande suit le rythme d'écriture vers le client.
+ * </p>
+ */
+@RestController
+@RequestMapping("/reactive/products")
+@RequiredArgsConstructor
+@Tag(name = "Reactive products", description = "Non-blocking read-only product API")
+public class ReactiveProductController {
+
+    /** Taille de page maximale (la liste complète passe par /stream). */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Lignes demandées au driver par lot lors du streaming. */
+    private static final int STREAM_PREFETCH = 256;
+
+    private final ReactiveProductRepository repository;
+
+    /**
+     * Liste paginée (createdDate DESC, id DESC) avec filtres optionnels combinables.
+     */
+    @Operation(summary = "List products (non-blocking) with pagination and optional filters")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ProductResponse> findAll(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status
+    ) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        long offset = (long) Math.max(page, 0) * pageSize;
+        return repository.findAll(toFilter(category, q, status), pageSize, offset);
+    }
+
+    /**
+     * Résultat complet du filtre en NDJSON, sans limite de taille.
+     * <p>Lecture par lots de {@value #STREAM_PREFETCH} lignes, réglée sur la vitesse du client.</p>
+     */
+    @Operation(summary = "Stream all matching products as NDJSON (backpressure-aware)")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductResponse> stream(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String status
+    ) {
+        return repository.findAll(toFilter(category, q, status), -1, 0)
+                .limitRate(STREAM_PREFETCH);
+    }
+
+    /**
+     * Récupère un produit par son identifiant (404 s'il n'existe pas).
+     */
+    @Operation(summary = "Get a product by id (non-blocking)")
+    @GetMapping("/{id}")
+    public Mono<ProductResponse> getById(@PathVariable Long id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)));
+    }
+
+    private static ProductFilter toFilter(String category, String q, String status) {
+        return ProductFilter.builder().category(category).q(q).status(status).build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.alten.shop.product.reactive;
+
+import com.alten.shop.exception.InvalidProductStatusException;
+import com.alten.shop.product.Product.InventoryStatus;
+import com.alten.shop.product.dto.ProductFilter;
+import com.alten.shop.product.dto.ProductResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lectures produits non bloquantes (driver R2DBC), pendant réactif de ProductRepository.
+ * <p>
+ * Le SQL reprend la sémantique de {@code ProductSpecifications.filteredBy} : catégorie exacte,
+ * statut validé, recherche libre {@code LIKE} échappée sur le nom, le code et la description,
+ * le tout trié par {@code created_date DESC, id DESC} (index composites de Product).
+ * Les comparaisons s'appuient sur la collation insensible à la casse, sans fonction sur les colonnes.
+ * </p>
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "id, version, code, name, description, image, category, price, quantity, "
+            + "internal_reference, shell_id, inventory_status, rating, rating_count, created_date, last_modified_date";
+
+    private static final String ORDER_BY = " ORDER BY created_date DESC, id DESC";
+
+    private final DatabaseClient client;
+
+    public ReactiveProductRepository(DatabaseClient reactiveDatabaseClient) {
+        this.client = reactiveDatabaseClient;
+    }
+
+    /** Produit par identifiant ; vide s'il n'existe pas. */
+    public Mono<ProductResponse> findById(long id) {
+        return client.sql("SELECT " + COLUMNS + " FROM product WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * Produits correspondant au filtre, dans l'ordre de la pagination par clé.
+     * <p>
+     * Les lignes sont émises au fil de la lecture du résultat : la demande de l'abonné
+     * (backpressure) règle le rythme de lecture, rien n'est matérialisé en mémoire.
+     * </p>
+     *
+     * @param limit  nombre maximal de lignes, ou une valeur négative pour tout le résultat
+     * @param offset lignes à sauter (ignoré si {@code limit} est négatif)
+     */
+    public Flux<ProductResponse> findAll(ProductFilter filter, long limit, long offset) {
+        List<Object[]> binds = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM product")
+                .append(where(filter, binds))
+                .append(ORDER_BY);
+        if (limit >= 0) {
+            sql.append(" LIMIT :limit OFFSET :offset");
+            binds.add(new Object[]{"limit", limit});
+            binds.add(new Object[]{"offset", offset});
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql.toString());
+        for (Object[] bind : binds) {
+            spec = spec.bind((String) bind[0], bind[1]);
+        }
+        return spec.map(ReactiveProductRepository::toResponse).all();
+    }
+
+    /** Clause WHERE (éventuellement vide) et valeurs associées, critères combinés par ET. */
+    private static String where(ProductFilter filter, List<Object[]> binds) {
+        if (filter == null) {
+            return "";
+        }
+        List<String> clauses = new ArrayList<>();
+        if (!isBlank(filter.getCategory())) {
+            clauses.add("category = :category");
+            binds.add(new Object[]{"category", filter.getCategory().trim()});
+        }
+        if (!isBlank(filter.getStatus())) {
+            clauses.add("inventory_status = :status");
+            binds.add(new Object[]{"status", parseStatus(filter.getStatus()).name()});
+        }
+        if (!isBlank(filter.getQ())) {
+            clauses.add("(name LIKE :q ESCAPE '\\\\' OR code LIKE :q ESCAPE '\\\\' OR description LIKE :q ESCAPE '\\\\')");
+            binds.add(new Object[]{"q", "%" + escapeLike(filter.getQ().trim()) + "%"});
+        }
+        return clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses);
+    }
+
+    private static ProductResponse toResponse(Readable row) {
+        return ProductResponse.builder()
+                .id(row.get("id", Long.class))
+                .version(row.get("version", Long.class))
+                .code(row.get("code", String.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .image(row.get("image", String.class))
+                .category(row.get("category", String.class))
+                .price(row.get("price", Double.class))
+                .quantity(row.get("quantity", Integer.class))
+                .internalReference(row.get("internal_reference", String.class))
+                .shellId(row.get("shell_id", Long.class))
+                .inventoryStatus(row.get("inventory_status", String.class))
+                .rating(row.get("rating", Double.class))
+                .ratingCount(row.get("rating_count", Long.class))
+                .createdAt(row.get("created_date", LocalDateTime.class))
+                .updatedAt(row.get("last_modified_date", LocalDateTime.class))
+                .build();
+    }
+
+    private static InventoryStatus parseStatus(String value) {
+        try {
+            return InventoryStatus.valueOf(value.trim().toUpperCase());
+        } catch (Exception e) {
+            throw new InvalidProductStatusException(value);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
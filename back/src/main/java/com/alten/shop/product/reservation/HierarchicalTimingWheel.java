@@ -0,0 +1,225 @@
+package com.alten.shop.product.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Roue temporelle hiérarchique : échéances de millions d'entrées sans une tâche planifiée par entrée.
+ * <p>
+ * - Le temps est découpé en ticks de {@code tickMillis}. Le niveau 0 compte {@code 2^bits} cases d'un tick,
+ *   le niveau {@code n} des cases de {@code 2^(bits*n)} ticks : 4 niveaux de 64 cases d'une seconde couvrent ~194 jours.<br>
+ * - Une échéance est rangée dans le niveau le plus fin qui la contient. Quand le niveau inférieur a fait un tour,
+ *   la case suivante du niveau supérieur est redistribuée vers les niveaux plus fins (au plus {@code niveaux - 1} fois
+ *   par entrée) ; les cases du niveau 0 expirent telles quelles.<br>
+ * - Programmation, annulation (liste doublement chaînée) et expiration coûtent O(1) par entrée,
+ *   quel que soit le nombre d'échéances en attente.<br>
+ * - Une échéance n'expire jamais en avance, au plus un tick en retard. Au-delà de l'horizon, elle est rangée
+ *   dans la dernière case atteignable puis redistribuée.
+ * </p>
+ * Thread-safe (un verrou, tenu le temps de quelques affectations de pointeurs) ; {@link #advance(long)}
+ * renvoie les entrées expirées sans appeler de code extérieur sous le verrou.
+ *
+ * @param <T> donnée associée à chaque échéance
+ */
+final class HierarchicalTimingWheel<T> {
+
+    /** Échéance programmée, maillon de la liste de sa case. */
+    static final class Timeout<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Slot<T> slot;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        T payload() {
+            return payload;
+        }
+    }
+
+    /** Case de la roue : liste doublement chaînée d'échéances. */
+    private static final class Slot<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.slot = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        /** Vide la case et renvoie la tête de l'ancienne liste (maillons encore chaînés par {@code next}). */
+        Timeout<T> detachAll() {
+            Timeout<T> first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    private final long tickMillis;
+    private final int bits;
+    private final long mask;
+    private final Slot<T>[][] levels;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Prochain tick à traiter : tous les ticks antérieurs ont expiré. */
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    HierarchicalTimingWheel(long tickMillis, int bits, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || bits <= 0 || levelCount <= 0 || (long) bits * levelCount >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick=" + tickMillis + "ms, bits=" + bits + ", levels=" + levelCount);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1L << bits) - 1;
+        this.levels = new Slot[levelCount][1 << bits];
+        for (Slot<T>[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Programme une échéance (arrondie au tick supérieur : jamais d'expiration anticipée).
+     * Une échéance déjà passée expire au prochain {@link #advance(long)}.
+     */
+    Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(payload, Math.floorDiv(deadlineMillis, tickMillis)
+                + (Math.floorMod(deadlineMillis, tickMillis) == 0 ? 0 : 1));
+        lock.lock();
+        try {
+            place(timeout);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+        return timeout;
+    }
+
+    /**
+     * Annule une échéance.
+     *
+     * @return faux si elle a déjà expiré ou a déjà été annulée
+     */
+    boolean cancel(Timeout<T> timeout) {
+        lock.lock();
+        try {
+            if (timeout.slot == null) {
+                return false;
+            }
+            timeout.slot.remove(timeout);
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fait avancer la roue jusqu'à {@code nowMillis} et renvoie les entrées arrivées à échéance.
+     */
+    List<T> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            while (currentTick <= nowTick) {
+                cascade(currentTick);
+                Timeout<T> timeout = levels[0][(int) (currentTick & mask)].detachAll();
+                while (timeout != null) {
+                    Timeout<T> next = timeout.next;
+                    timeout.slot = null;
+                    timeout.prev = null;
+                    timeout.next = null;
+                    if (timeout.deadlineTick <= currentTick) {
+                        expired.add(timeout.payload);
+                        size--;
+                    } else {
+                        place(timeout);
+                    }
+                    timeout = next;
+                }
+                currentTick++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    /** Nombre d'échéances en attente. */
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Redistribue vers les niveaux inférieurs les cases dont le tour commence à {@code tick}
+     * (niveau {@code n} : les {@code bits*n} bits de poids faible de {@code tick} sont nuls), du plus haut au plus bas.
+     */
+    private void cascade(long tick) {
+        int top = 0;
+        while (top + 1 < levels.length && (tick & ((1L << ((top + 1) * bits)) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            Timeout<T> timeout = levels[level][(int) ((tick >>> (level * bits)) & mask)].detachAll();
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    /** Range une échéance dans le niveau le plus fin dont l'étendue la contient, relativement à {@link #currentTick}. */
+    private void place(Timeout<T> timeout) {
+        long delta = Math.max(timeout.deadlineTick - currentTick, 0);
+        int top = levels.length - 1;
+        for (int level = 0; level <= top; level++) {
+            int shift = level * bits;
+            long span = 1L << (shift + bits);
+            if (delta < span || level == top) {
+                long target = currentTick + Math.min(delta, span - 1);
+                levels[level][(int) ((target >>> shift) & mask)].add(timeout);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.alten.shop.product.reservation;
+
+/**
+ * Réservation temporaire de stock.
+ *
+ * @param id        identifiant opaque (UUID)
+ * @param productId produit réservé
+ * @param quantity  nombre d'unités retenues
+ * @param owner     email de l'utilisateur qui a réservé
+ * @param expiresAt échéance (epoch en millisecondes)
+ */
+public record StockHold(String id, long productId, int quantity, String owner, long expiresAt) {
+}
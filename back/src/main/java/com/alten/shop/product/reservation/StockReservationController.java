@@ -0,0 +1,70 @@
+package com.alten.shop.product.reservation;
+
+import com.alten.shop.product.dto.ProductAvailabilityResponse;
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.ProductStockAdjustment;
+import com.alten.shop.product.dto.StockReservationResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Réservations de stock pendant le paiement, pour tout utilisateur authentifié.
+ * <p>
+ * Une réservation retient des unités pour une durée limitée ({@code application.product.reservation.ttl}) ;
+ * elle est confirmée (décrément du stock), libérée, ou expire d'elle-même.
+ * Seul son auteur peut la confirmer ou la libérer. Un achat direct passe lui aussi par le registre.
+ * </p>
+ */
+@RestController
+@RequestMapping("/products")
+@RequiredArgsConstructor
+@Tag(name = "Stock reservations", description = "Hold stock during checkout and check availability")
+public class StockReservationController {
+
+    private final StockReservationService service;
+
+    @Operation(summary = "Available-to-sell quantity of a product (stock minus active reservations)")
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<ProductAvailabilityResponse> availability(@PathVariable Long id) {
+        return ResponseEntity.ok(service.availability(id));
+    }
+
+    @Operation(summary = "Hold units of a product for a few minutes (409 if not enough is available)")
+    @PostMapping("/{id}/reservations")
+    public ResponseEntity<StockReservationResponse> reserve(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductStockAdjustment adjustment
+    ) {
+        return ResponseEntity.ok(service.reserve(id, adjustment.getQuantity()));
+    }
+
+    @Operation(summary = "Release one of your reservations")
+    @DeleteMapping("/{id}/reservations/{reservationId}")
+    public ResponseEntity<Void> release(@PathVariable Long id, @PathVariable String reservationId) {
+        service.release(id, reservationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Achat immédiat : les unités sont retenues puis retirées du stock, sans jamais entamer les réservations en cours.
+     * <p>409 si le disponible (stock moins réservé) ne couvre pas la quantité.</p>
+     */
+    @Operation(summary = "Take units from the stock of a product (fails with 409 if the available quantity is insufficient)")
+    @PostMapping("/{id}/stock/decrement")
+    public ResponseEntity<ProductResponse> decrementStock(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductStockAdjustment adjustment
+    ) {
+        return ResponseEntity.ok(service.purchase(id, adjustment.getQuantity()));
+    }
+
+    @Operation(summary = "Confirm one of your reservations: its units are taken from the stock")
+    @PostMapping("/{id}/reservations/{reservationId}/confirm")
+    public ResponseEntity<ProductResponse> confirm(@PathVariable Long id, @PathVariable String reservationId) {
+        return ResponseEntity.ok(service.confirm(id, reservationId));
+    }
+}
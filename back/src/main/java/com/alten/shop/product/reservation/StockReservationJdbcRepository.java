@@ -0,0 +1,72 @@
+package com.alten.shop.product.reservation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Persistance différée des réservations de stock, en JDBC direct par lots.
+ * Participe à la transaction courante (même connexion).
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockReservationJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO stock_reservation (id, product_id, quantity, owner, expires_at, created_date)
+            VALUES (?, ?, ?, ?, ?, ?)""";
+
+    private static final String DELETE_SQL = "DELETE FROM stock_reservation WHERE id = ?";
+
+    /** Réservation relue au démarrage, avec le stock courant de son produit. */
+    public record PersistedHold(StockHold hold, int stock, long version) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<StockHold> holds, LocalDateTime createdAt, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, holds, batchSize, (ps, hold) -> {
+            ps.setString(1, hold.id());
+            ps.setLong(2, hold.productId());
+            ps.setInt(3, hold.quantity());
+            ps.setString(4, hold.owner());
+            ps.setLong(5, hold.expiresAt());
+            ps.setObject(6, createdAt);
+        });
+    }
+
+    public void deleteAll(List<String> ids, int batchSize) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, batchSize, (ps, id) -> ps.setString(1, id));
+    }
+
+    /**
+     * Supprime les réservations expirées avant {@code now} et celles dont le produit n'existe plus.
+     *
+     * @return nombre de lignes supprimées
+     */
+    public int purge(long now) {
+        return jdbcTemplate.update("""
+                DELETE r FROM stock_reservation r
+                LEFT JOIN product p ON p.id = r.product_id
+                WHERE r.expires_at <= ? OR p.id IS NULL""", now);
+    }
+
+    /** Parcourt les réservations persistées, avec la quantité et la version de leur produit. */
+    public void forEachHold(Consumer<PersistedHold> consumer) {
+        jdbcTemplate.query("""
+                        SELECT r.id, r.product_id, r.quantity, r.owner, r.expires_at, p.quantity AS stock, p.version
+                        FROM stock_reservation r
+                        JOIN product p ON p.id = r.product_id""",
+                rs -> {
+                    consumer.accept(new PersistedHold(
+                            new StockHold(rs.getString("id"), rs.getLong("product_id"), rs.getInt("quantity"),
+                                    rs.getString("owner"), rs.getLong("expires_at")),
+                            rs.getInt("stock"),
+                            rs.getLong("version")));
+                });
+    }
+}
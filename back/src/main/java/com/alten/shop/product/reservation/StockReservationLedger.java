@@ -0,0 +1,443 @@
+package com.alten.shop.product.reservation;
+
+import com.alten.shop.exception.InsufficientStockException;
+import com.alten.shop.exception.ProductNotFoundException;
+import com.alten.shop.exception.StockReservationNotFoundException;
+import com.alten.shop.product.ProductJdbcRepository;
+import com.alten.shop.product.ProductJdbcRepository.StockLevel;
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.alten.shop.product.reservation.StockReservationJdbcRepository.PersistedHold;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registre en mémoire des réservations de stock temporaires (paniers en cours de paiement).
+ * <p>
+ * - Une partition par produit : son stock (copie de {@code product.quantity}), le total réservé et ses réservations,
+ *   sous un verrou propre au produit. Réserver, libérer et calculer le disponible ({@code stock - réservé})
+ *   ne lisent ni n'écrivent la ligne produit ; seul le premier accès à un produit lit son stock.<br>
+ * - Le stock suit les écritures produit via {@link ProductChangedEvent} (après commit, version la plus récente gagnée).<br>
+ * - Expiration : une seule {@link HierarchicalTimingWheel} avancée à chaque {@code tick}, sans tâche planifiée
+ *   par réservation ; programmer, annuler et expirer coûtent O(1).<br>
+ * - Persistance différée : créations et suppressions sont accumulées puis écrites par lots toutes les
+ *   {@code flush-interval} (une réservation libérée avant le flush n'est jamais écrite). Au démarrage, les
+ *   réservations non expirées sont relues et réarmées ; les opérations attendent la fin de cette relecture.
+ * </p>
+ * Limites assumées : en cas d'arrêt brutal, les réservations du dernier intervalle de flush sont perdues, et une
+ * réservation confirmée mais pas encore effacée est relue puis retenue jusqu'à son échéance. Le registre est
+ * propre à l'instance : avec plusieurs instances, les réservations d'un produit doivent être routées vers la même.
+ * Un achat direct ({@code POST /products/{id}/stock/decrement}) réserve puis confirme : il ne vend que le disponible.
+ */
+@Component
+public class StockReservationLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationLedger.class);
+
+    /** 4 niveaux de 64 cases : horizon de 64^4 ticks. */
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    /** Stock et réservations d'un produit ; lus et modifiés uniquement sous {@link #lock}. */
+    private static final class Sku {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Hold> holds = new HashMap<>();
+        boolean loaded;
+        boolean deleted;
+        int stock;
+        long version;
+        long reserved;
+    }
+
+    /** Réservation active et son échéance dans la roue. */
+    private static final class Hold {
+        final StockHold hold;
+        HierarchicalTimingWheel.Timeout<Hold> timeout;
+        /** En cours de confirmation : retirée de la roue, toujours comptée dans le réservé. */
+        boolean claimed;
+
+        Hold(StockHold hold) {
+            this.hold = hold;
+        }
+    }
+
+    /** Disponibilité d'un produit vue par le registre. */
+    public record Availability(int stock, long reserved) {
+        public long available() {
+            return Math.max(0, stock - reserved);
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Sku> skus = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, StockHold> pendingInserts = new ConcurrentHashMap<>();
+    private final Set<String> pendingDeletes = ConcurrentHashMap.newKeySet();
+    private final HierarchicalTimingWheel<Hold> wheel;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final StockReservationJdbcRepository jdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlMillis;
+    private final int batchSize;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+
+    public StockReservationLedger(
+            ProductJdbcRepository productJdbcRepository,
+            StockReservationJdbcRepository jdbcRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${application.product.reservation.ttl:10m}") Duration ttl,
+            @Value("${application.product.reservation.tick:1s}") Duration tick,
+            @Value("${application.product.reservation.batch-size:1000}") int batchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.productJdbcRepository = productJdbcRepository;
+        this.jdbcRepository = jdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlMillis = ttl.toMillis();
+        this.batchSize = batchSize;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), WHEEL_BITS, WHEEL_LEVELS, System.currentTimeMillis());
+        Gauge.builder("products.reservations.active", wheel, HierarchicalTimingWheel::size)
+                .description("Stock reservations waiting for confirmation or expiry")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retient {@code quantity} unités jusqu'à l'échéance.
+     *
+     * @throws ProductNotFoundException   si le produit n'existe pas
+     * @throws InsufficientStockException si le disponible ne couvre pas la quantité
+     */
+    public StockHold reserve(long productId, int quantity, String owner) {
+        awaitLoaded();
+        Sku sku = lockedSku(productId);
+        try {
+            if (sku.stock - sku.reserved < quantity) {
+                throw new InsufficientStockException(productId, quantity);
+            }
+            StockHold hold = new StockHold(UUID.randomUUID().toString(), productId, quantity, owner,
+                    System.currentTimeMillis() + ttlMillis);
+            add(sku, hold);
+            pendingInserts.put(hold.id(), hold);
+            return hold;
+        } finally {
+            sku.lock.unlock();
+        }
+    }
+
+    /**
+     * Libère une réservation de son propriétaire.
+     *
+     * @throws StockReservationNotFoundException si elle n'existe pas (ou plus), ou appartient à un autre utilisateur
+     */
+    public void release(long productId, String holdId, String owner) {
+        awaitLoaded();
+        Sku sku = skus.get(productId);
+        if (sku == null) {
+            throw new StockReservationNotFoundException(holdId);
+        }
+        sku.lock.lock();
+        try {
+            remove(sku, ownedHold(sku, holdId, owner));
+        } finally {
+            sku.lock.unlock();
+        }
+    }
+
+    /**
+     * Retire une réservation de la roue avant sa confirmation : elle ne peut plus expirer ni être libérée,
+     * et reste comptée dans le réservé jusqu'à {@link #complete(StockHold)}.
+     *
+     * @throws StockReservationNotFoundException si elle n'existe pas (ou plus), ou appartient à un autre utilisateur
+     */
+    public StockHold claim(long productId, String holdId, String owner) {
+        awaitLoaded();
+        Sku sku = skus.get(productId);
+        if (sku == null) {
+            throw new StockReservationNotFoundException(holdId);
+        }
+        sku.lock.lock();
+        try {
+            Hold hold = ownedHold(sku, holdId, owner);
+            hold.claimed = true;
+            wheel.cancel(hold.timeout);
+            return hold.hold;
+        } finally {
+            sku.lock.unlock();
+        }
+    }
+
+    /** Termine une confirmation (réussie ou non) : la réservation disparaît. */
+    public void complete(StockHold claimed) {
+        Sku sku = skus.get(claimed.productId());
+        if (sku == null) {
+            return;
+        }
+        sku.lock.lock();
+        try {
+            Hold hold = sku.holds.get(claimed.id());
+            if (hold != null) {
+                remove(sku, hold);
+            }
+        } finally {
+            sku.lock.unlock();
+        }
+    }
+
+    /**
+     * Stock, réservé et disponible d'un produit, servis depuis la mémoire.
+     *
+     * @throws ProductNotFoundException si le produit n'existe pas
+     */
+    public Availability availability(long productId) {
+        awaitLoaded();
+        Sku sku = lockedSku(productId);
+        try {
+            return new Availability(sku.stock, sku.reserved);
+        } finally {
+            sku.lock.unlock();
+        }
+    }
+
+    /** Expire les réservations arrivées à échéance. */
+    @Scheduled(fixedDelayString = "${application.product.reservation.tick:1s}")
+    public void expire() {
+        List<Hold> expired = wheel.advance(System.currentTimeMillis());
+        for (Hold hold : expired) {
+            Sku sku = skus.get(hold.hold.productId());
+            if (sku == null) {
+                continue;
+            }
+            sku.lock.lock();
+            try {
+                if (!hold.claimed && sku.holds.get(hold.hold.id()) == hold) {
+                    remove(sku, hold);
+                }
+            } finally {
+                sku.lock.unlock();
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.debug("Stock reservations expired: {}", expired.size());
+        }
+    }
+
+    /**
+     * Relit les réservations non expirées, en tâche de fond pour ne pas retarder le démarrage.
+     * Les opérations du registre attendent la fin de la relecture (réussie ou non).
+     */
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        try {
+            int purged = jdbcRepository.purge(System.currentTimeMillis());
+            long[] restored = {0};
+            jdbcRepository.forEachHold(persisted -> {
+                restore(persisted);
+                restored[0]++;
+            });
+            log.info("Stock reservations loaded: {} active, {} expired purged in {} ms",
+                    restored[0], purged, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Could not load stock reservations, starting without persisted holds: {}", e.getMessage());
+        } finally {
+            loaded.countDown();
+        }
+    }
+
+    /** Écriture différée périodique (rien tant que les réservations persistées ne sont pas relues). */
+    @Scheduled(initialDelayString = "${application.product.reservation.flush-interval:1s}",
+            fixedDelayString = "${application.product.reservation.flush-interval:1s}")
+    public void flush() {
+        if (loaded.getCount() == 0) {
+            flushPending();
+        }
+    }
+
+    /** Dernier flush à l'arrêt, avant la fermeture du pool de connexions. */
+    @PreDestroy
+    void flushOnShutdown() {
+        flushPending();
+    }
+
+    /** Suit le stock des produits modifiés ; oublie les réservations d'un produit supprimé. */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        Sku sku = skus.get(event.id());
+        if (sku == null) {
+            return;
+        }
+        sku.lock.lock();
+        try {
+            if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+                skus.remove(event.id(), sku);
+                sku.deleted = true;
+                for (Hold hold : new ArrayList<>(sku.holds.values())) {
+                    remove(sku, hold);
+                }
+            } else {
+                ProductResponse product = event.product();
+                if (product.getQuantity() != null && product.getVersion() != null
+                        && (!sku.loaded || product.getVersion() > sku.version)) {
+                    sku.stock = product.getQuantity();
+                    sku.version = product.getVersion();
+                    sku.loaded = true;
+                }
+            }
+        } finally {
+            sku.lock.unlock();
+        }
+    }
+
+    /**
+     * Partition verrouillée d'un produit, dont le stock est lu au premier accès.
+     * L'appelant libère le verrou.
+     */
+    private Sku lockedSku(long productId) {
+        Sku sku = skus.computeIfAbsent(productId, id -> new Sku());
+        sku.lock.lock();
+        try {
+            if (!sku.deleted && !sku.loaded) {
+                Optional<StockLevel> level = productJdbcRepository.findStockLevel(productId);
+                if (level.isPresent()) {
+                    sku.stock = level.get().quantity();
+                    sku.version = level.get().version();
+                    sku.loaded = true;
+                } else if (sku.holds.isEmpty()) {
+                    skus.remove(productId, sku);
+                    sku.deleted = true;
+                }
+            }
+            if (sku.deleted || !sku.loaded) {
+                throw new ProductNotFoundException(productId);
+            }
+            return sku;
+        } catch (RuntimeException e) {
+            sku.lock.unlock();
+            throw e;
+        }
+    }
+
+    private Hold ownedHold(Sku sku, String holdId, String owner) {
+        Hold hold = sku.holds.get(holdId);
+        if (hold == null || hold.claimed || !hold.hold.owner().equals(owner)) {
+            throw new StockReservationNotFoundException(holdId);
+        }
+        return hold;
+    }
+
+    private void add(Sku sku, StockHold stockHold) {
+        Hold hold = new Hold(stockHold);
+        sku.holds.put(stockHold.id(), hold);
+        sku.reserved += stockHold.quantity();
+        hold.timeout = wheel.schedule(hold, stockHold.expiresAt());
+    }
+
+    /** Retire une réservation (verrou du produit tenu) ; la suppression en base n'est nécessaire que si elle y a été écrite. */
+    private void remove(Sku sku, Hold hold) {
+        sku.holds.remove(hold.hold.id());
+        sku.reserved -= hold.hold.quantity();
+        wheel.cancel(hold.timeout);
+        if (pendingInserts.remove(hold.hold.id()) == null) {
+            pendingDeletes.add(hold.hold.id());
+        }
+    }
+
+    private void restore(PersistedHold persisted) {
+        Sku sku = skus.computeIfAbsent(persisted.hold().productId(), id -> new Sku());
+        sku.lock.lock();
+        try {
+            if (!sku.loaded || persisted.version() > sku.version) {
+                sku.stock = persisted.stock();
+                sku.version = persisted.version();
+                sku.loaded = true;
+            }
+            if (!sku.deleted && !sku.holds.containsKey(persisted.hold().id())) {
+                add(sku, persisted.hold());
+            }
+        } finally {
+            sku.lock.unlock();
+        }
+    }
+
+    /**
+     * Écrit les créations puis les suppressions accumulées, dans une transaction.
+     * Une création et la suppression de la même réservation peuvent faire partie du même flush (dans cet ordre) ;
+     * en cas d'échec, tout est remis en attente pour le flush suivant.
+     */
+    private void flushPending() {
+        flushLock.lock();
+        try {
+            List<StockHold> inserts = new ArrayList<>();
+            for (String id : pendingInserts.keySet()) {
+                StockHold hold = pendingInserts.remove(id);
+                if (hold != null) {
+                    inserts.add(hold);
+                }
+            }
+            List<String> deletes = new ArrayList<>();
+            for (String id : pendingDeletes) {
+                if (pendingDeletes.remove(id)) {
+                    deletes.add(id);
+                }
+            }
+            if (inserts.isEmpty() && deletes.isEmpty()) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!inserts.isEmpty()) {
+                        jdbcRepository.insertAll(inserts, LocalDateTime.now(), batchSize);
+                    }
+                    if (!deletes.isEmpty()) {
+                        jdbcRepository.deleteAll(deletes, batchSize);
+                    }
+                });
+            } catch (RuntimeException e) {
+                inserts.forEach(hold -> pendingInserts.putIfAbsent(hold.id(), hold));
+                pendingDeletes.addAll(deletes);
+                log.warn("Stock reservation flush failed, retried at next flush: {}", e.getMessage());
+                return;
+            }
+            log.debug("Stock reservations flushed: {} inserted, {} deleted in {} ms",
+                    inserts.size(), deletes.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void awaitLoaded() {
+        try {
+            loaded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for stock reservations to load", e);
+        }
+    }
+}
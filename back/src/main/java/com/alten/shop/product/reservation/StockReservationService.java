@@ -0,0 +1,54 @@
+package com.alten.shop.product.reservation;
+
+import com.alten.shop.product.dto.ProductAvailabilityResponse;
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.StockReservationResponse;
+
+/**
+ * Réservations de stock temporaires pour l'utilisateur connecté (paiement en cours).
+ */
+public interface StockReservationService {
+
+    /**
+     * Retient des unités d'un produit pour quelques minutes, sans écrire la ligne produit.
+     *
+     * @param productId identifiant technique du produit
+     * @param quantity  nombre d'unités à retenir
+     * @return la réservation et son échéance
+     */
+    StockReservationResponse reserve(Long productId, int quantity);
+
+    /**
+     * Libère une réservation de l'utilisateur connecté.
+     *
+     * @param productId     identifiant technique du produit
+     * @param reservationId identifiant de la réservation
+     */
+    void release(Long productId, String reservationId);
+
+    /**
+     * Confirme une réservation : les unités sont retirées du stock (décrément atomique) et la réservation disparaît.
+     *
+     * @param productId     identifiant technique du produit
+     * @param reservationId identifiant de la réservation
+     * @return le produit mis à jour
+     */
+    ProductResponse confirm(Long productId, String reservationId);
+
+    /**
+     * Achat immédiat : réserve puis confirme dans la foulée, si bien que seul le disponible peut être vendu.
+     *
+     * @param productId identifiant technique du produit
+     * @param quantity  nombre d'unités achetées
+     * @return le produit mis à jour
+     */
+    ProductResponse purchase(Long productId, int quantity);
+
+    /**
+     * Disponible à la vente (stock moins réservations), servi depuis la mémoire.
+     *
+     * @param productId identifiant technique du produit
+     * @return stock, réservé et disponible
+     */
+    ProductAvailabilityResponse availability(Long productId);
+}
@@ -0,0 +1,94 @@
+package com.alten.shop.product.reservation;
+
+import com.alten.shop.product.dto.ProductAvailabilityResponse;
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.StockReservationResponse;
+import com.alten.shop.product.reservation.StockReservationLedger.Availability;
+import com.alten.shop.product.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Implémentation des réservations de stock, adossée au {@link StockReservationLedger}.
+ * <p>
+ * Aucune transaction ici : réserver et libérer ne touchent que la mémoire. La confirmation passe par
+ * {@link ProductService#decrementStock} ; la réservation reste comptée jusqu'à la fin du décrément, si bien que
+ * le disponible ne remonte jamais entre les deux. En cas d'échec du décrément, elle est libérée.
+ * Un achat immédiat ({@link #purchase}) suit le même chemin avec une réservation éphémère : il ne peut pas
+ * consommer des unités réservées par d'autres.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationServiceImpl.class);
+
+    private final StockReservationLedger ledger;
+    private final ProductService productService;
+
+    @Override
+    public StockReservationResponse reserve(Long productId, int quantity) {
+        StockHold hold = ledger.reserve(productId, quantity, currentUser());
+        log.debug("Stock reserved: product id={} quantity={} reservation={}", productId, quantity, hold.id());
+        return StockReservationResponse.builder()
+                .id(hold.id())
+                .productId(hold.productId())
+                .quantity(hold.quantity())
+                .expiresAt(Instant.ofEpochMilli(hold.expiresAt()))
+                .build();
+    }
+
+    @Override
+    public void release(Long productId, String reservationId) {
+        ledger.release(productId, reservationId, currentUser());
+        log.debug("Stock reservation released: product id={} reservation={}", productId, reservationId);
+    }
+
+    @Override
+    public ProductResponse confirm(Long productId, String reservationId) {
+        StockHold hold = ledger.claim(productId, reservationId, currentUser());
+        try {
+            ProductResponse product = productService.decrementStock(productId, hold.quantity());
+            log.info("Stock reservation confirmed: product id={} quantity={} reservation={}",
+                    productId, hold.quantity(), reservationId);
+            return product;
+        } finally {
+            ledger.complete(hold);
+        }
+    }
+
+    @Override
+    public ProductResponse purchase(Long productId, int quantity) {
+        String owner = currentUser();
+        StockHold hold = ledger.reserve(productId, quantity, owner);
+        ledger.claim(productId, hold.id(), owner);
+        try {
+            ProductResponse product = productService.decrementStock(productId, quantity);
+            log.debug("Stock purchased: product id={} quantity={}", productId, quantity);
+            return product;
+        } finally {
+            ledger.complete(hold);
+        }
+    }
+
+    @Override
+    public ProductAvailabilityResponse availability(Long productId) {
+        Availability availability = ledger.availability(productId);
+        return ProductAvailabilityResponse.builder()
+                .productId(productId)
+                .stock(availability.stock())
+                .reserved(availability.reserved())
+                .available(availability.available())
+                .build();
+    }
+
+    private static String currentUser() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+}
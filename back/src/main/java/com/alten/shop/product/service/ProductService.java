@@ -1,11 +1,25 @@
 package com.alten.shop.product.service;
 
+import com.alten.shop.product.dto.ProductCountResponse;
+import com.alten.shop.product.dto.ProductCursorPage;
+import com.alten.shop.product.dto.ProductBulkUpdateReport;
+import com.alten.shop.product.dto.ProductFacetsResponse;
 import com.alten.shop.product.dto.ProductFilter;
+import com.alten.shop.product.dto.ProductImportReport;
 import com.alten.shop.product.dto.ProductRequest;
 import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.ProductSlice;
+import com.alten.shop.product.dto.ProductStockUpdate;
+import com.alten.shop.product.dto.ProductSuggestion;
+import com.alten.shop.product.dto.ProductSummaryResponse;
+import com.alten.shop.product.export.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
 /**
  * Service métier pour la gestion des produits.
  * <p>
@@ -23,6 +37,15 @@ public interface ProductService {
      */
     ProductResponse create(ProductRequest request);
 
+    /**
+     * Import en masse : chaque ligne est validée individuellement, les lignes valides sont insérées
+     * par lots JDBC, les lignes invalides sont rapportées sans faire échouer l'ensemble.
+     *
+     * @param requests produits à créer
+     * @return compte rendu (ids créés, erreurs par ligne)
+     */
+    ProductImportReport bulkCreate(List<ProductRequest> requests);
+
     /**
      * Met à jour un produit existant.
      *
@@ -32,6 +55,45 @@ public interface ProductService {
      */
     ProductResponse update(Long id, ProductRequest request);
 
+    /**
+     * Mise à jour en masse du prix et/ou du stock, en instructions SQL groupées par lots.
+     * Le statut d'inventaire est recalculé et la version incrémentée pour chaque produit modifié.
+     *
+     * @param updates changements à appliquer (produit désigné par id ou code)
+     * @return compte rendu (produits modifiés, erreurs par ligne)
+     */
+    ProductBulkUpdateReport bulkUpdateStock(List<ProductStockUpdate> updates);
+
+    /**
+     * Retire des unités du stock en une instruction SQL conditionnelle, sans verrou optimiste :
+     * adapté aux produits très sollicités (ventes flash).
+     * <p>Ne consulte pas les réservations : les achats passent par
+     * {@link com.alten.shop.product.reservation.StockReservationService}, qui retient les unités avant d'appeler ce décrément.</p>
+     *
+     * @param id       identifiant technique du produit
+     * @param quantity nombre d'unités à retirer
+     * @return le produit mis à jour
+     */
+    ProductResponse decrementStock(Long id, int quantity);
+
+    /**
+     * Ajoute des unités au stock (réassort), selon le même principe que {@link #decrementStock}.
+     *
+     * @param id       identifiant technique du produit
+     * @param quantity nombre d'unités à ajouter
+     * @return le produit mis à jour
+     */
+    ProductResponse incrementStock(Long id, int quantity);
+
+    /**
+     * Remplace l'URL d'image d'un produit (après l'envoi d'un nouveau fichier image).
+     *
+     * @param id    identifiant technique du produit
+     * @param image nouvelle URL de l'image
+     * @return le produit mis à jour
+     */
+    ProductResponse updateImage(Long id, String image);
+
     /**
      * Supprime un produit.
      *
@@ -49,10 +111,67 @@ public interface ProductService {
 
     /**
      * Liste paginée des produits avec filtrage facultatif.
+     * Tous les critères renseignés sont appliqués ensemble (ET logique).
      *
      * @param filter   critères de recherche (catégorie, statut d'inventaire, texte libre)
      * @param pageable pagination et tri
-     * @return une page de produits
+     * @return une page de résumés produit (sans description ni champs internes)
+     */
+    Page<ProductSummaryResponse> findAll(ProductFilter filter, Pageable pageable);
+
+    /**
+     * Liste des produits par pagination par clé (seek), du plus récent au plus ancien.
+     * <p>Le coût d'une page est constant quelle que soit sa profondeur (pas d'OFFSET).</p>
+     *
+     * @param filter critères de recherche (catégorie, statut d'inventaire, texte libre)
+     * @param cursor curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param size   nombre d'éléments par page
+     * @return la page et le curseur de la suivante
+     */
+    ProductCursorPage findAllByCursor(ProductFilter filter, String cursor, int size);
+
+    /**
+     * Page de produits sans requête de comptage (mode « slice »).
+     *
+     * @param filter critères de recherche (catégorie, statut d'inventaire, texte libre)
+     * @param page   index de page (0..n)
+     * @param size   nombre d'éléments par page
+     * @return la page et l'indicateur de page suivante
+     */
+    ProductSlice findSlice(ProductFilter filter, int page, int size);
+
+    /**
+     * Nombre de produits correspondant au filtre, servi depuis un cache de courte durée.
+     *
+     * @param filter critères de recherche (catégorie, statut d'inventaire, texte libre)
+     * @return le total (éventuellement approximatif)
+     */
+    ProductCountResponse count(ProductFilter filter);
+
+    /**
+     * Nombre de produits par catégorie et par statut d'inventaire, servi par des agrégats en mémoire.
+     *
+     * @param q texte libre restreignant les facettes aux résultats de la recherche (optionnel)
+     * @return facettes par catégorie et par statut
+     */
+    ProductFacetsResponse facets(String q);
+
+    /**
+     * Complétions du début de saisie sur le nom (ou l'un de ses mots) et le code, les mieux notées d'abord.
+     *
+     * @param q     début de saisie
+     * @param limit nombre maximal de propositions
+     * @return propositions (vide si {@code q} est vide)
+     */
+    List<ProductSuggestion> suggest(String q, int limit);
+
+    /**
+     * Exporte tout le catalogue dans le flux fourni, au fil de la lecture d'un curseur base de données.
+     * <p>La mémoire consommée est constante quelle que soit la taille du catalogue.</p>
+     *
+     * @param format format de sortie (NDJSON ou CSV)
+     * @param out    flux de réponse (non fermé par cette méthode)
+     * @return nombre de produits exportés
      */
-    Page<ProductResponse> findAll(ProductFilter filter, Pageable pageable);
-}
\ No newline at end of file
+    long export(ExportFormat format, OutputStream out) throws IOException;
+}
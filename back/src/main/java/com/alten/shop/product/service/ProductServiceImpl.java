@@ -1,31 +1,95 @@
 package com.alten.shop.product.service;
 
 import com.alten.shop.auth.service.AuthenticationServiceImpl;
+import com.alten.shop.exception.BulkImportTooLargeException;
 import com.alten.shop.exception.ForbiddenProductOperationException;
+import com.alten.shop.exception.InsufficientStockException;
 import com.alten.shop.exception.InvalidProductStatusException;
 import com.alten.shop.exception.ProductCodeAlreadyExistsException;
 import com.alten.shop.exception.ProductNotFoundException;
 import com.alten.shop.product.Product;
+import com.alten.shop.product.ProductJdbcRepository;
+import com.alten.shop.product.ProductJdbcRepository.StockChange;
 import com.alten.shop.product.ProductRepository;
+import com.alten.shop.product.ProductSpecifications;
+import com.alten.shop.product.cache.ProductCache;
+import com.alten.shop.product.cache.ProductCountCache;
+import com.alten.shop.product.dto.ProductCountResponse;
+import com.alten.shop.product.dto.ProductCursorPage;
+import com.alten.shop.product.dto.ProductBulkUpdateReport;
+import com.alten.shop.product.dto.ProductFacetsResponse;
 import com.alten.shop.product.dto.ProductFilter;
+import com.alten.shop.product.dto.ProductImportError;
+import com.alten.shop.product.dto.ProductImportReport;
 import com.alten.shop.product.dto.ProductRequest;
 import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.ProductSlice;
+import com.alten.shop.product.dto.ProductStockUpdate;
+import com.alten.shop.product.dto.ProductSuggestion;
+import com.alten.shop.product.dto.ProductSummaryResponse;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.alten.shop.product.export.ExportFormat;
+import com.alten.shop.product.export.ProductExportRepository;
+import com.alten.shop.product.export.ProductExportWriter;
+import com.alten.shop.product.index.ProductColumnIndex;
+import com.alten.shop.product.index.ProductFacetIndex;
+import com.alten.shop.product.index.ProductFuzzyIndex;
+import com.alten.shop.product.index.ProductIndexer;
+import com.alten.shop.product.index.ProductSearchIndex;
+import com.alten.shop.product.index.ProductSuggestIndex;
 import com.alten.shop.product.mapper.ProductMapper;
+import com.alten.shop.product.pagination.ProductCursor;
+import com.alten.shop.product.pagination.ProductSort;
+import com.alten.shop.product.popularity.ProductViewCounter;
 import com.alten.shop.util.ProductGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static com.alten.shop.product.Product.InventoryStatus;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Implémentation du service produit.
@@ -38,7 +102,8 @@ import java.util.UUID;
  *   <li>Un <b>guard métier</b> pour vérifier que seul <code>admin@admin.com</code> ayant le rôle <b>ADMIN</b>
  *       peut créer, modifier ou supprimer un produit</li>
  * </ul>
- * Les méthodes de lecture (findById / findAll) restent accessibles à tout utilisateur authentifié.
+ * Les méthodes de lecture (findById / findAll) restent accessibles à tout utilisateur authentifié ;
+ * elles s'exécutent en transaction readOnly, routée vers un réplica lorsqu'il en existe.
  */
 @Service
 @RequiredArgsConstructor
@@ -47,8 +112,40 @@ public class ProductServiceImpl implements ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
 
+    /** Taille maximale d'une page (borne les lectures par curseur). */
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository repository;
     private final ProductMapper mapper;
+    private final ProductCache cache;
+    private final ProductCountCache countCache;
+    private final ProductSearchIndex searchIndex;
+    private final ProductFuzzyIndex fuzzyIndex;
+    private final ProductFacetIndex facetIndex;
+    private final ProductColumnIndex columnIndex;
+    private final ProductSuggestIndex suggestIndex;
+    private final ProductIndexer indexer;
+    private final ProductViewCounter viewCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ProductJdbcRepository jdbcRepository;
+    private final ProductExportRepository exportRepository;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Nombre de produits écrits entre deux envois effectifs au client. */
+    @Value("${application.product.export.flush-every:1000}")
+    private int exportFlushEvery;
+
+    /** Lignes envoyées par lot JDBC lors d'un import en masse. */
+    @Value("${application.product.bulk.batch-size:1000}")
+    private int bulkBatchSize;
+
+    /** Nombre maximal de lignes acceptées par requête d'import. */
+    @Value("${application.product.bulk.max-rows:20000}")
+    private int bulkMaxRows;
 
 
     /**
@@ -91,6 +188,132 @@ public class ProductServiceImpl implements ProductService {
         }
     }
 
+    /**
+     * Traduit les critères du filtre en une unique Specification (tous les critères renseignés
+     * sont combinés par ET), exécutée en une seule requête SQL.
+     */
+    private Specification<Product> toSpecification(ProductFilter filter) {
+        if (filter == null) {
+            return ProductSpecifications.filteredBy(null, null, null);
+        }
+        return ProductSpecifications.filteredBy(filter.getCategory(), statusOf(filter), filter.getQ())
+                .and(ProductSpecifications.priceBetween(filter.getMinPrice(), filter.getMaxPrice()))
+                .and(ProductSpecifications.ratingAtLeast(filter.getMinRating()));
+    }
+
+    /** Statut du filtre, null si absent ; conversion sûre (400 si invalide). */
+    private InventoryStatus statusOf(ProductFilter filter) {
+        return (filter.getStatus() == null || filter.getStatus().isBlank())
+                ? null
+                : parseStatus(filter.getStatus());
+    }
+
+    /** Vrai si la recherche libre peut être servie par l'index en mémoire. */
+    private boolean isIndexedSearch(ProductFilter filter) {
+        return filter != null && filter.getQ() != null && !filter.getQ().isBlank() && indexer.isReady();
+    }
+
+    /**
+     * Résultats de l'index inversé pour le filtre (classés par pertinence) ;
+     * si aucun produit ne correspond exactement, repli sur la recherche tolérante aux fautes de frappe.
+     */
+    private List<Long> searchIds(ProductFilter filter) {
+        InventoryStatus status = statusOf(filter);
+        String statusName = status != null ? status.name() : null;
+        List<Long> ids = searchIndex.search(filter.getQ(), filter.getCategory(), statusName);
+        if (ids.isEmpty()) {
+            ids = fuzzyIndex.search(filter.getQ(), filter.getCategory(), statusName);
+        }
+        boolean explicitSort = filter.getSort() != null && !filter.getSort().isBlank();
+        if (!hasRange(filter) && !explicitSort) {
+            return ids;
+        }
+        // un tri explicite remplace l'ordre de pertinence
+        if (explicitSort && sortOf(filter) == ProductSort.POPULAR) {
+            // clés figées avant le tri : les compteurs évoluent pendant qu'on trie (contrat du comparateur)
+            List<Long> kept = new ArrayList<>(columnIndex.refine(ids, columnQuery(filter, null)));
+            Map<Long, Long> popularity = new HashMap<>(kept.size() * 2);
+            kept.forEach(id -> popularity.put(id, viewCounter.popularity(id)));
+            kept.sort(Comparator.<Long>comparingLong(popularity::get)
+                    .thenComparing(Comparator.naturalOrder()).reversed());
+            return kept;
+        }
+        return columnIndex.refine(ids, columnQuery(filter, explicitSort ? sortOf(filter) : null));
+    }
+
+    /**
+     * Vrai si la liste (sans recherche libre) peut être servie par l'index en colonnes : filtre prix/note ou tri explicite.
+     * Le tri par popularité reste en base (index sur view_count).
+     */
+    private boolean isColumnQuery(ProductFilter filter) {
+        if (filter == null || !indexer.isReady()) {
+            return false;
+        }
+        ProductSort sort = sortOf(filter);
+        return sort != ProductSort.POPULAR && (hasRange(filter) || sort != ProductSort.NEWEST);
+    }
+
+    private static boolean hasRange(ProductFilter filter) {
+        return filter.getMinPrice() != null || filter.getMaxPrice() != null || filter.getMinRating() != null;
+    }
+
+    private static ProductSort sortOf(ProductFilter filter) {
+        return filter == null ? ProductSort.NEWEST : ProductSort.from(filter.getSort());
+    }
+
+    private ProductColumnIndex.Query columnQuery(ProductFilter filter, ProductSort sort) {
+        InventoryStatus status = statusOf(filter);
+        return new ProductColumnIndex.Query(filter.getCategory(), status != null ? status.name() : null,
+                filter.getMinPrice(), filter.getMaxPrice(), filter.getMinRating(), sort);
+    }
+
+    /**
+     * Filtres de prix / note et tris servis par l'index en colonnes (aucune requête de filtrage en base).
+     * Seuls les produits de la page demandée sont ensuite lus, depuis le cache ou par clé primaire.
+     */
+    private Page<ProductSummaryResponse> columnIndexed(ProductFilter filter, Pageable pageable) {
+        ProductColumnIndex.Result result = columnIndex.query(columnQuery(filter, sortOf(filter)),
+                (int) pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = Arrays.stream(result.ids()).boxed().toList();
+        return new PageImpl<>(loadSummaries(ids), pageable, result.total());
+    }
+
+    /** Page JPA triée selon le tri demandé (le tri par défaut reste celui de la pagination par clé). */
+    private static Pageable sorted(Pageable pageable, ProductFilter filter) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sortOf(filter).toSort());
+    }
+
+    /**
+     * Recherche libre servie par l'index inversé en mémoire (aucune requête de recherche en base).
+     * Seuls les produits de la page demandée sont ensuite lus, depuis le cache ou par clé primaire.
+     */
+    private Page<ProductSummaryResponse> searchIndexed(ProductFilter filter, Pageable pageable) {
+        List<Long> ranked = searchIds(filter);
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(loadSummaries(ranked.subList(from, to)), pageable, ranked.size());
+    }
+
+    /**
+     * Charge des résumés produit en conservant l'ordre des identifiants :
+     * cache d'abord, puis une seule requête de projection par clé primaire pour les absents.
+     */
+    private List<ProductSummaryResponse> loadSummaries(List<Long> ids) {
+        Map<Long, ProductSummaryResponse> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            cache.get(id).ifPresentOrElse(
+                    response -> found.put(id, mapper.toSummary(response)),
+                    () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            repository.findSummaries(ProductSpecifications.idIn(missing), Pageable.unpaged())
+                    .forEach(summary -> found.put(summary.getId(), summary));
+        }
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
     /**
      * Garantit des valeurs pour shellId et internalReference si absentes.
      * <p>
@@ -137,8 +360,84 @@ public class ProductServiceImpl implements ProductService {
         log.info("Product created: id={}, code={}, name={}",
                 saved.getId(), saved.getCode(), saved.getName());
 
-        return mapper.toResponse(saved);
+        ProductResponse response = mapper.toResponse(saved);
+        eventPublisher.publishEvent(ProductChangedEvent.created(response));
+        return response;
+
+    }
+
+    /**
+     * Import en masse.
+     * - Valide chaque ligne (mêmes contraintes que la création unitaire) et rapporte les erreurs par index.
+     * - Prépare les lignes valides comme {@link #create} (code, références, valeurs par défaut, audit).
+     * - Les insère par lots JDBC multi-lignes, sans passer par le contexte de persistance.
+     * - Publie un événement de création par produit (cache, index…) après commit.
+     */
+    @Override
+    public ProductImportReport bulkCreate(List<ProductRequest> requests) {
+        checkAdminGuard();
+        if (requests.size() > bulkMaxRows) {
+            throw new BulkImportTooLargeException(requests.size(), bulkMaxRows);
+        }
+        long start = System.nanoTime();
+        String requester = currentRequester();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ProductImportError> errors = new ArrayList<>();
+        List<Product> entities = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ProductRequest request = requests.get(i);
+            if (request == null) {
+                errors.add(ProductImportError.builder().index(i).message("Product row is empty").build());
+                continue;
+            }
+            Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                for (ConstraintViolation<ProductRequest> violation : violations) {
+                    errors.add(ProductImportError.builder()
+                            .index(i)
+                            .field(violation.getPropertyPath().toString())
+                            .message(violation.getMessage())
+                            .build());
+                }
+                continue;
+            }
+            entities.add(prepareBulkEntity(request, requester, now));
+        }
+
+        List<Long> ids = jdbcRepository.insertAll(entities, bulkBatchSize);
+        for (int i = 0; i < entities.size(); i++) {
+            Product entity = entities.get(i);
+            entity.setId(ids.get(i));
+            eventPublisher.publishEvent(ProductChangedEvent.created(mapper.toResponse(entity)));
+        }
+
+        int rejected = (int) errors.stream().mapToInt(ProductImportError::getIndex).distinct().count();
+        log.info("Bulk import by requester={}: {} received, {} imported, {} rejected in {} ms",
+                requester, requests.size(), ids.size(), rejected, (System.nanoTime() - start) / 1_000_000);
+
+        return ProductImportReport.builder()
+                .received(requests.size())
+                .imported(ids.size())
+                .rejected(rejected)
+                .ids(ids)
+                .errors(errors)
+                .build();
+    }
 
+    /**
+     * Reproduit ce que Hibernate ferait à l'insertion (audit, @PrePersist, version initiale),
+     * puisque l'insertion JDBC ne passe pas par le cycle de vie JPA.
+     */
+    private Product prepareBulkEntity(ProductRequest request, String requester, LocalDateTime now) {
+        Product entity = mapper.toEntity(request);
+        entity.setCode(ProductGenerator.generateCode());
+        ensureReferences(entity);
+        entity.prePersistDefaults();
+        entity.setCreatedDate(now);
+        entity.setCreatedBy(requester);
+        entity.setVersion(0L);
+        return entity;
     }
 
     /**
@@ -169,13 +468,207 @@ public class ProductServiceImpl implements ProductService {
         // 3) Garantit shellId & internalReference si absents
         ensureReferences(entity);
 
-        Product saved = repository.save(entity);
+        // flush immédiat : la version (@Version) et les dates d'audit sont à jour dans la réponse
+        Product saved = repository.saveAndFlush(entity);
 
-        log.info("Product updated: id={}, code={}, name={}",
-                saved.getId(), saved.getCode(), saved.getName());
+        log.info("Product updated: id={}, code={}, version={}, name={}",
+                saved.getId(), saved.getCode(), saved.getVersion(), saved.getName());
+
+        ProductResponse response = mapper.toResponse(saved);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response));
+        return response;
+
+    }
+
+    /**
+     * Décrément des achats et des réservations confirmées : ni lecture préalable ni {@code @Version},
+     * la condition de stock est portée par l'UPDATE lui-même (aucun conflit à rejouer sous contention).
+     * Appelé par {@link com.alten.shop.product.reservation.StockReservationService}, qui a déjà retenu les unités.
+     */
+    @Override
+    public ProductResponse decrementStock(Long id, int quantity) {
+        return adjustStock(id, -quantity);
+    }
+
+    /**
+     * Réassort, réservé à admin@admin.com avec rôle ADMIN.
+     */
+    @Override
+    public ProductResponse incrementStock(Long id, int quantity) {
+        checkAdminGuard();
+        return adjustStock(id, quantity);
+    }
+
+    private ProductResponse adjustStock(Long id, int delta) {
+        String requester = currentRequester();
+        log.debug("Adjusting stock of product id={} by {} (requester={})", id, delta, requester);
 
-        return mapper.toResponse(saved);
+        if (!jdbcRepository.adjustStock(id, delta, requester, LocalDateTime.now())) {
+            // chemin d'échec seulement : distinguer produit absent et stock insuffisant
+            if (!repository.existsById(id)) {
+                throw new ProductNotFoundException(id);
+            }
+            throw new InsufficientStockException(id, -delta);
+        }
 
+        evictSecondLevelCache(List.of(id));
+        entityManager.clear();
+        Product product = repository.findById(id).orElseThrow(() -> new ProductNotFoundException(id));
+        ProductResponse response = mapper.toResponse(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response));
+        return response;
+    }
+
+    /**
+     * Remplace l'URL d'image d'un produit ; même cycle que {@link #update} (version, audit, événement après commit).
+     *
+     * @param id    identifiant technique du produit
+     * @param image nouvelle URL de l'image
+     * @return le produit mis à jour
+     */
+    @Override
+    public ProductResponse updateImage(Long id, String image) {
+        checkAdminGuard();
+        log.info("Updating image of product id={} by requester={}", id, currentRequester());
+
+        Product entity = repository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Image update failed: product not found id={}", id);
+                    return new ProductNotFoundException(id);
+                });
+        entity.setImage(image);
+        Product saved = repository.saveAndFlush(entity);
+
+        ProductResponse response = mapper.toResponse(saved);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response));
+        return response;
+    }
+
+    /**
+     * Mise à jour en masse du prix et du stock.
+     * - Valide chaque ligne et résout les codes produit en ids (une requête IN par lot).
+     * - Applique les changements par lots d'UPDATE JDBC (statut recalculé, version incrémentée, audit).
+     * - Relit les produits modifiés par lots et publie un événement de mise à jour par produit après commit.
+     */
+    @Override
+    public ProductBulkUpdateReport bulkUpdateStock(List<ProductStockUpdate> updates) {
+        checkAdminGuard();
+        if (updates.size() > bulkMaxRows) {
+            throw new BulkImportTooLargeException(updates.size(), bulkMaxRows);
+        }
+        long start = System.nanoTime();
+        String requester = currentRequester();
+
+        List<ProductImportError> errors = new ArrayList<>();
+        List<Integer> validRows = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            String error = checkStockUpdate(updates.get(i));
+            if (error != null) {
+                errors.add(ProductImportError.builder().index(i).message(error).build());
+                continue;
+            }
+            Set<ConstraintViolation<ProductStockUpdate>> violations = validator.validate(updates.get(i));
+            if (!violations.isEmpty()) {
+                for (ConstraintViolation<ProductStockUpdate> violation : violations) {
+                    errors.add(ProductImportError.builder()
+                            .index(i)
+                            .field(violation.getPropertyPath().toString())
+                            .message(violation.getMessage())
+                            .build());
+                }
+                continue;
+            }
+            validRows.add(i);
+            if (updates.get(i).getId() == null) {
+                codes.add(updates.get(i).getCode());
+            }
+        }
+
+        Map<String, Long> idsByCode = codes.isEmpty() ? Map.of() : jdbcRepository.findIdsByCodes(codes, bulkBatchSize);
+        List<StockChange> changes = new ArrayList<>(validRows.size());
+        List<Integer> changeRows = new ArrayList<>(validRows.size());
+        for (int row : validRows) {
+            ProductStockUpdate update = updates.get(row);
+            Long id = update.getId() != null ? update.getId() : idsByCode.get(update.getCode());
+            if (id == null) {
+                errors.add(ProductImportError.builder().index(row).field("code")
+                        .message("Product not found: " + update.getCode()).build());
+                continue;
+            }
+            changes.add(new StockChange(id, update.getPrice(), update.getQuantity()));
+            changeRows.add(row);
+        }
+
+        int[] counts = jdbcRepository.updateStock(changes, requester, LocalDateTime.now(), bulkBatchSize);
+        LinkedHashSet<Long> updatedIds = new LinkedHashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                updatedIds.add(changes.get(i).id());
+            } else {
+                errors.add(ProductImportError.builder().index(changeRows.get(i)).field("id")
+                        .message("Product not found: " + changes.get(i).id()).build());
+            }
+        }
+        publishUpdated(new ArrayList<>(updatedIds));
+
+        int rejected = (int) errors.stream().mapToInt(ProductImportError::getIndex).distinct().count();
+        log.info("Bulk stock update by requester={}: {} received, {} products updated, {} rejected in {} ms",
+                requester, updates.size(), updatedIds.size(), rejected, (System.nanoTime() - start) / 1_000_000);
+
+        return ProductBulkUpdateReport.builder()
+                .received(updates.size())
+                .updated(updatedIds.size())
+                .rejected(rejected)
+                .errors(errors)
+                .build();
+    }
+
+    /** Contrôles de forme d'une ligne de mise à jour en masse ; null si la ligne est exploitable. */
+    private static String checkStockUpdate(ProductStockUpdate update) {
+        if (update == null) {
+            return "Update row is empty";
+        }
+        if (update.getId() == null && (update.getCode() == null || update.getCode().isBlank())) {
+            return "Either id or code is required";
+        }
+        if (update.getPrice() == null && update.getQuantity() == null) {
+            return "Nothing to update: price or quantity is required";
+        }
+        return null;
+    }
+
+    /**
+     * Relit par lots les produits modifiés en JDBC (hors contexte de persistance) et publie leur nouvel état.
+     * Le cache de second niveau et le contexte de persistance sont vidés pour ne jamais servir une entité périmée.
+     */
+    private void publishUpdated(List<Long> ids) {
+        evictSecondLevelCache(ids);
+        entityManager.clear();
+        for (int from = 0; from < ids.size(); from += bulkBatchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulkBatchSize, ids.size()));
+            for (Product product : repository.findAllById(chunk)) {
+                eventPublisher.publishEvent(ProductChangedEvent.updated(mapper.toResponse(product)));
+            }
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * Un UPDATE JDBC contourne Hibernate : les entrées du cache de second niveau sont périmées
+     * (évincées avant relecture, puis après commit : un lecteur concurrent a pu y remettre l'ancienne ligne entre-temps).
+     */
+    private void evictSecondLevelCache(List<Long> ids) {
+        Cache secondLevelCache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> secondLevelCache.evict(Product.class, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(id -> secondLevelCache.evict(Product.class, id));
+                }
+            });
+        }
     }
 
     /**
@@ -195,56 +688,229 @@ public class ProductServiceImpl implements ProductService {
         }
 
         repository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         log.debug("Product deleted id={} by={}", id, requester);
     }
 
     /**
      * Récupère un produit par son identifiant.
+     * <p>Lecture servie par {@link ProductCache} ; en cas de miss, le produit est chargé
+     * puis mis en cache (sans jamais écraser une version plus récente).
+     * Un hit n'ouvre pas de transaction et n'emprunte aucune connexion : seul un miss passe par
+     * {@code repository.findById}, dans sa propre transaction en lecture seule (routée vers un réplica).
+     * Aucune consultation n'est comptée ici : les appels internes (images, stock, avis…) ne doivent pas
+     * influencer la popularité, seul {@code GET /products/{id}} la compte.</p>
      *
      * @param id identifiant technique du produit
      * @return le produit trouvé
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductResponse findById(Long id) {
-        log.debug("Fetching product by id={}", id);
-
-        return repository.findById(id)
-                .map(mapper::toResponse)
-                .orElseThrow(() -> {
-                    log.warn("Fetch failed: product not found id={}", id);
-                    return new ProductNotFoundException(id);
-                });
+        return cache.get(id).orElseGet(() -> {
+            log.debug("Fetching product by id={} (cache miss)", id);
+
+            ProductResponse response = repository.findById(id)
+                    .map(mapper::toResponse)
+                    .orElseThrow(() -> {
+                        log.warn("Fetch failed: product not found id={}", id);
+                        return new ProductNotFoundException(id);
+                    });
+            cache.putIfNewer(response);
+            return response;
+        });
     }
 
     /**
      * Liste paginée des produits avec filtrage facultatif.
+     * <p>Avec un texte libre {@code q}, les résultats sont classés par pertinence via
+     * {@link ProductSearchIndex} dès qu'il est chargé ; sinon la recherche se fait en base.</p>
      *
      * @param filter   critères de recherche (catégorie, statut d'inventaire, texte libre)
      * @param pageable pagination et tri
-     * @return une page de produits
+     * @return une page de résumés produit (projection : ni entité managée, ni colonne TEXT)
      */
     @Override
-    public Page<ProductResponse> findAll(ProductFilter filter, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryResponse> findAll(ProductFilter filter, Pageable pageable) {
         log.debug("Listing products with filter={} page={}", filter, pageable);
 
-        Page<Product> page;
-        if (filter != null) {
-            if (filter.getCategory() != null && !filter.getCategory().isBlank()) {
-                page = repository.findByCategoryIgnoreCase(filter.getCategory(), pageable);
-            } else if (filter.getStatus() != null && !filter.getStatus().isBlank()) {
-                //conversion sûre (400 si invalide)
-                InventoryStatus status = parseStatus(filter.getStatus());
-                page = repository.findByInventoryStatus(status, pageable);
-            } else if (filter.getQ() != null && !filter.getQ().isBlank()) {
-                String q = filter.getQ();
-                page = repository.findByNameContainingIgnoreCaseOrCodeContainingIgnoreCaseOrDescriptionContainingIgnoreCase(q, q, q, pageable);
-            } else {
-                page = repository.findAll(pageable);
-            }
+        if (isIndexedSearch(filter)) {
+            return searchIndexed(filter, pageable);
+        }
+        if (isColumnQuery(filter)) {
+            return columnIndexed(filter, pageable);
+        }
+
+        return repository.findSummaries(toSpecification(filter), sorted(pageable, filter));
+    }
+
+    /**
+     * Pagination par clé : lit {@code size + 1} lignes après le curseur pour savoir
+     * s'il existe une page suivante, sans COUNT ni OFFSET.
+     *
+     * @param filter critères de recherche (catégorie, statut d'inventaire, texte libre)
+     * @param cursor curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param size   nombre d'éléments par page
+     * @return la page et le curseur de la suivante
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductCursorPage findAllByCursor(ProductFilter filter, String cursor, int size) {
+        ProductCursor position = (cursor == null || cursor.isBlank()) ? null : ProductCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.debug("Listing products with filter={} cursor={} size={}", filter, position, pageSize);
+
+        List<ProductSummaryResponse> rows = repository.findSummaries(
+                toSpecification(filter).and(ProductSpecifications.after(position)),
+                ProductSpecifications.SEEK_ORDER,
+                pageSize + 1
+        );
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ProductSummaryResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProductSummaryResponse last = content.get(content.size() - 1);
+            nextCursor = new ProductCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return ProductCursorPage.builder()
+                .content(content)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Page sans {@code COUNT(*)} : {@code size + 1} lignes lues pour calculer {@code hasNext}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductSlice findSlice(ProductFilter filter, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize, ProductSpecifications.SEEK_ORDER);
+        log.debug("Listing product slice with filter={} page={}", filter, pageable);
+
+        List<ProductSummaryResponse> content;
+        boolean hasNext;
+        if (isIndexedSearch(filter) || isColumnQuery(filter)) {
+            Page<ProductSummaryResponse> found = isIndexedSearch(filter)
+                    ? searchIndexed(filter, pageable)
+                    : columnIndexed(filter, pageable);
+            content = found.getContent();
+            hasNext = found.hasNext();
         } else {
-            page = repository.findAll(pageable);
+            Slice<ProductSummaryResponse> slice = repository.findSummarySlice(toSpecification(filter), sorted(pageable, filter));
+            content = slice.getContent();
+            hasNext = slice.hasNext();
+        }
+
+        return ProductSlice.builder()
+                .content(content)
+                .page(pageable.getPageNumber())
+                .size(pageSize)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Total par filtre : exact et sans base pour une recherche indexée,
+     * sinon {@code COUNT(*)} mis en cache pour une courte durée ({@link ProductCountCache}).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ProductCountResponse count(ProductFilter filter) {
+        if (isIndexedSearch(filter)) {
+            return ProductCountResponse.builder().total(searchIds(filter).size()).approximate(false).build();
         }
+        if (isColumnQuery(filter)) {
+            int total = columnIndex.count(columnQuery(filter, null));
+            return ProductCountResponse.builder().total(total).approximate(false).build();
+        }
+
+        Specification<Product> spec = toSpecification(filter);
+        long total = countCache.get(countKey(filter), () -> repository.count(spec));
+        return ProductCountResponse.builder().total(total).approximate(true).build();
+    }
 
-        return page.map(mapper::toResponse);
+    /**
+     * Facettes lues sur les agrégats maintenus à chaque écriture (aucune requête SQL) ;
+     * pas de transaction ouverte, donc pas de connexion empruntée au pool.
+     * Repli sur un GROUP BY tant que le chargement initial des index n'est pas terminé.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductFacetsResponse facets(String q) {
+        boolean hasQuery = q != null && !q.isBlank();
+        if (!indexer.isReady()) {
+            return repository.countFacets(ProductSpecifications.filteredBy(null, null, hasQuery ? q : null));
+        }
+        if (!hasQuery) {
+            return facetIndex.facets();
+        }
+        Set<Long> ids = searchIndex.matching(q);
+        return facetIndex.facetsFor(ids.isEmpty() ? fuzzyIndex.search(q, null, null) : ids);
+    }
+
+    /**
+     * Autocomplétion servie par l'arbre préfixe en mémoire (aucune requête SQL, pas de connexion empruntée).
+     * Repli sur un {@code LIKE 'prefix%'} tant que le chargement initial des index n'est pas terminé.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductSuggestion> suggest(String q, int limit) {
+        if (q == null || q.isBlank()) {
+            return List.of();
+        }
+        int max = Math.clamp(limit, 1, ProductSuggestIndex.TOP_K);
+        if (!indexer.isReady()) {
+            return repository.findSuggestions(ProductSpecifications.startsWithPattern(q), Limit.of(max));
+        }
+        return suggestIndex.suggest(q, max);
+    }
+
+    /** Clé de cache normalisée d'un filtre (casse et espaces ignorés). */
+    private String countKey(ProductFilter filter) {
+        if (filter == null) return "||";
+        InventoryStatus status = statusOf(filter);
+        return normalizeKey(filter.getCategory()) + "|" + (status != null ? status.name() : "") + "|" + normalizeKey(filter.getQ())
+                + "|" + filter.getMinPrice() + "|" + filter.getMaxPrice() + "|" + filter.getMinRating();
+    }
+
+    private static String normalizeKey(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Export en streaming : les produits sont lus par curseur serveur sur le pool dédié à l'export
+     * (par lots de {@code fetch-size} lignes) et écrits immédiatement, sans entité ni transaction JPA :
+     * ni Hibernate ni la réponse n'accumulent le catalogue en mémoire.
+     * {@code NOT_SUPPORTED} écarte le {@code @Transactional} de la classe : aucune connexion du pool principal
+     * n'est retenue pendant qu'un client lent consomme la réponse.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        ProductExportWriter exportWriter = new ProductExportWriter(format, writer, objectMapper);
+        exportWriter.start();
+
+        long count = 0;
+        try (Stream<ProductResponse> products = exportRepository.streamAll()) {
+            for (ProductResponse product : (Iterable<ProductResponse>) products::iterator) {
+                exportWriter.write(product);
+                count++;
+                if (count % exportFlushEvery == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Catalog exported as {}: {} products in {} ms", format, count, (System.nanoTime() - start) / 1_000_000);
+        return count;
     }
 }
@@ -0,0 +1,44 @@
+package com.alten.shop.review;
+
+import com.alten.shop.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Avis laissé par un utilisateur sur un produit (une note de 1 à 5 et un commentaire facultatif).
+ * <p>
+ * Un seul avis par utilisateur et par produit ({@code createdBy} = email de l'auteur).
+ * Le produit est référencé par son id seulement : l'avis n'est jamais lu avec son produit,
+ * et la note moyenne du produit est maintenue à l'ajout (voir {@code ProductJdbcRepository#addRating}).
+ * </p>
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_review_product_author", columnNames = {"productId", "createdBy"}),
+        indexes = {
+                // avis d'un produit par pagination par clé : ORDER BY createdDate DESC, id DESC
+                @Index(name = "idx_review_product_created", columnList = "productId, createdDate, id")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+public class Review extends BaseEntity {
+
+    @Column(nullable = false, updatable = false)
+    private Long productId;
+
+    /** Note de 1 à 5. */
+    @Column(nullable = false)
+    private Integer rating;
+
+    @Column(columnDefinition = "TEXT")
+    private String comment;
+
+    /** Nom affiché de l'auteur (prénom et initiale du nom), figé à la création. */
+    @Column(nullable = false)
+    private String authorName;
+}
@@ -0,0 +1,43 @@
+package com.alten.shop.review;
+
+import com.alten.shop.review.dto.ReviewResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    boolean existsByProductIdAndCreatedBy(Long productId, String createdBy);
+
+    /**
+     * Première page des avis d'un produit, du plus récent au plus ancien (index idx_review_product_created).
+     */
+    @Query("""
+            select new com.alten.shop.review.dto.ReviewResponse(r.id, r.productId, r.rating, r.comment, r.authorName, r.createdDate)
+            from Review r
+            where r.productId = :productId
+            order by r.createdDate desc, r.id desc
+            """)
+    List<ReviewResponse> findFirstPage(@Param("productId") Long productId, Limit limit);
+
+    /**
+     * Page suivante : avis strictement après la position (createdDate, id), sans OFFSET.
+     */
+    @Query("""
+            select new com.alten.shop.review.dto.ReviewResponse(r.id, r.productId, r.rating, r.comment, r.authorName, r.createdDate)
+            from Review r
+            where r.productId = :productId
+              and (r.createdDate < :createdDate or (r.createdDate = :createdDate and r.id < :id))
+            order by r.createdDate desc, r.id desc
+            """)
+    List<ReviewResponse> findPageAfter(
+            @Param("productId") Long productId,
+            @Param("createdDate") LocalDateTime createdDate,
+            @Param("id") Long id,
+            Limit limit
+    );
+}
@@ -0,0 +1,43 @@
+package com.alten.shop.review.controller;
+
+import com.alten.shop.review.dto.ReviewCursorPage;
+import com.alten.shop.review.dto.ReviewRequest;
+import com.alten.shop.review.dto.ReviewResponse;
+import com.alten.shop.review.service.ReviewService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Avis produit : tout utilisateur connecté peut laisser un avis (un seul par produit) et lire ceux des autres.
+ */
+@RestController
+@RequestMapping("/products/{productId}/reviews")
+@RequiredArgsConstructor
+@Tag(name = "Product reviews", description = "Review products and list their reviews")
+public class ReviewController {
+
+    private final ReviewService service;
+
+    @Operation(summary = "Review a product (one review per user and product)")
+    @PostMapping
+    public ResponseEntity<ReviewResponse> create(@PathVariable Long productId, @Valid @RequestBody ReviewRequest request) {
+        return ResponseEntity.ok(service.create(productId, request));
+    }
+
+    /**
+     * Avis d'un produit par pagination par clé (curseur), du plus récent au plus ancien.
+     */
+    @Operation(summary = "List the reviews of a product with keyset (cursor) pagination, newest first")
+    @GetMapping
+    public ResponseEntity<ReviewCursorPage> findByProduct(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(service.findByProduct(productId, cursor, size));
+    }
+}
@@ -0,0 +1,31 @@
+package com.alten.shop.review.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Page d'avis obtenue par pagination par clé (curseur), sans total.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cursor-based (keyset) page of reviews.")
+public class ReviewCursorPage {
+
+    @Schema(description = "Reviews of this page, newest first")
+    private List<ReviewResponse> content;
+
+    @Schema(description = "Requested page size", example = "10")
+    private int size;
+
+    @Schema(description = "True if another page is available")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque cursor to pass back to fetch the next page (null on the last page)",
+            example = "MjAyNS0wOS0xNFQxMDoyMzo0NXw0Mg")
+    private String nextCursor;
+}
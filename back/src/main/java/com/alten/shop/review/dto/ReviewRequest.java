@@ -0,0 +1,30 @@
+package com.alten.shop.review.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Avis envoyé par un utilisateur connecté.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Review of a product by the authenticated user.")
+public class ReviewRequest {
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be between 1 and 5")
+    @Max(value = 5, message = "Rating must be between 1 and 5")
+    @Schema(description = "Rating from 1 to 5", example = "4")
+    private Integer rating;
+
+    @Size(max = 2000, message = "Comment must not exceed 2000 characters")
+    @Schema(description = "Optional comment", example = "Works great, battery lasts for weeks.")
+    private String comment;
+}
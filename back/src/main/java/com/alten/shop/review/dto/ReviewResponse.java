@@ -0,0 +1,37 @@
+package com.alten.shop.review.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avis tel que renvoyé au client.
+ * L'ordre des champs correspond au constructeur utilisé par la projection JPA.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product review.")
+public class ReviewResponse {
+
+    @Schema(description = "Technical identifier", example = "42")
+    private Long id;
+
+    @Schema(description = "Reviewed product", example = "101")
+    private Long productId;
+
+    @Schema(description = "Rating from 1 to 5", example = "4")
+    private Integer rating;
+
+    @Schema(description = "Comment (may be null)", example = "Works great, battery lasts for weeks.")
+    private String comment;
+
+    @Schema(description = "Display name of the author", example = "Jane D.")
+    private String authorName;
+
+    @Schema(description = "Creation date", example = "2025-09-14T10:23:45")
+    private LocalDateTime createdAt;
+}
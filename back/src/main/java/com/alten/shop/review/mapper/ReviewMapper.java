@@ -0,0 +1,16 @@
+package com.alten.shop.review.mapper;
+
+import com.alten.shop.review.Review;
+import com.alten.shop.review.dto.ReviewResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper MapStruct entre l'entité {@link Review} et ses DTOs.
+ */
+@Mapper(componentModel = "spring")
+public interface ReviewMapper {
+
+    @Mapping(target = "createdAt", source = "createdDate")
+    ReviewResponse toResponse(Review review);
+}
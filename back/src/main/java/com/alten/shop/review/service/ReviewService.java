@@ -0,0 +1,30 @@
+package com.alten.shop.review.service;
+
+import com.alten.shop.review.dto.ReviewCursorPage;
+import com.alten.shop.review.dto.ReviewRequest;
+import com.alten.shop.review.dto.ReviewResponse;
+
+/**
+ * Service métier des avis produit.
+ */
+public interface ReviewService {
+
+    /**
+     * Ajoute l'avis de l'utilisateur connecté et met à jour la note moyenne du produit dans la même transaction.
+     *
+     * @param productId identifiant technique du produit
+     * @param request   note (1..5) et commentaire facultatif
+     * @return l'avis créé
+     */
+    ReviewResponse create(Long productId, ReviewRequest request);
+
+    /**
+     * Avis d'un produit par pagination par clé, du plus récent au plus ancien.
+     *
+     * @param productId identifiant technique du produit
+     * @param cursor    curseur opaque renvoyé par la page précédente (null pour la première page)
+     * @param size      nombre d'éléments par page
+     * @return la page et le curseur de la suivante
+     */
+    ReviewCursorPage findByProduct(Long productId, String cursor, int size);
+}
@@ -0,0 +1,164 @@
+package com.alten.shop.review.service;
+
+import com.alten.shop.exception.ProductNotFoundException;
+import com.alten.shop.exception.ReviewAlreadyExistsException;
+import com.alten.shop.product.Product;
+import com.alten.shop.product.ProductJdbcRepository;
+import com.alten.shop.product.ProductRepository;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.alten.shop.product.mapper.ProductMapper;
+import com.alten.shop.product.pagination.ProductCursor;
+import com.alten.shop.review.Review;
+import com.alten.shop.review.ReviewRepository;
+import com.alten.shop.review.dto.ReviewCursorPage;
+import com.alten.shop.review.dto.ReviewRequest;
+import com.alten.shop.review.dto.ReviewResponse;
+import com.alten.shop.review.mapper.ReviewMapper;
+import com.alten.shop.security.model.UserSecurity;
+import com.alten.shop.user.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Implémentation du service des avis.
+ * <p>
+ * - Ajout : l'agrégat du produit (somme, nombre, moyenne) est mis à jour par une seule instruction SQL
+ *   avant l'insertion de l'avis. Le verrou de ligne qu'elle pose sérialise les avis d'un même produit jusqu'au commit :
+ *   la vérification « un avis par utilisateur » qui suit ne peut pas être contournée par deux envois simultanés,
+ *   et la moyenne n'est jamais recalculée à partir de la table des avis.<br>
+ * - Le nouvel état du produit est publié après commit (caches, index, génération du catalogue).<br>
+ * - Liste : pagination par clé sur {@code (createdDate, id)}, sans OFFSET ni COUNT.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewServiceImpl implements ReviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewServiceImpl.class);
+
+    /** Limite haute de la taille de page. */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReviewRepository repository;
+    private final ReviewMapper mapper;
+    private final ProductRepository productRepository;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ProductMapper productMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public ReviewResponse create(Long productId, ReviewRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String author = auth.getName();
+        log.info("Creating review for product id={} by user={}", productId, author);
+
+        // verrou de ligne sur le produit : les avis de ce produit sont traités un par un jusqu'au commit
+        if (!productJdbcRepository.addRating(productId, request.getRating())) {
+            throw new ProductNotFoundException(productId);
+        }
+        if (repository.existsByProductIdAndCreatedBy(productId, author)) {
+            throw new ReviewAlreadyExistsException(productId, author);
+        }
+
+        Review review = Review.builder()
+                .productId(productId)
+                .rating(request.getRating())
+                .comment(request.getComment())
+                .authorName(displayName(auth))
+                .build();
+        try {
+            review = repository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            // contrainte uk_review_product_author : annule aussi la mise à jour de l'agrégat
+            throw new ReviewAlreadyExistsException(productId, author);
+        }
+
+        publishRatingChanged(productId);
+        return mapper.toResponse(review);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewCursorPage findByProduct(Long productId, String cursor, int size) {
+        ProductCursor position = (cursor == null || cursor.isBlank()) ? null : ProductCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.debug("Listing reviews of product id={} cursor={} size={}", productId, position, pageSize);
+
+        // existence vérifiée sur la première page seulement : les suivantes partent d'un curseur déjà obtenu
+        if (position == null && !productRepository.existsById(productId)) {
+            throw new ProductNotFoundException(productId);
+        }
+
+        List<ReviewResponse> rows = position == null
+                ? repository.findFirstPage(productId, Limit.of(pageSize + 1))
+                : repository.findPageAfter(productId, position.createdDate(), position.id(), Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ReviewResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ReviewResponse last = content.get(content.size() - 1);
+            nextCursor = new ProductCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return ReviewCursorPage.builder()
+                .content(content)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Relit le produit dont l'agrégat vient d'être modifié en SQL et publie son nouvel état.
+     * L'entrée du cache de second niveau est évincée avant la relecture puis après commit
+     * (un lecteur concurrent a pu y remettre l'ancienne ligne entre-temps).
+     */
+    private void publishRatingChanged(Long productId) {
+        Cache secondLevelCache = entityManager.getEntityManagerFactory().getCache();
+        secondLevelCache.evict(Product.class, productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    secondLevelCache.evict(Product.class, productId);
+                }
+            });
+        }
+        // jamais chargé dans ce contexte de persistance : relu en base avec l'agrégat à jour
+        productRepository.findById(productId)
+                .ifPresent(product -> eventPublisher.publishEvent(ProductChangedEvent.updated(productMapper.toResponse(product))));
+    }
+
+    /** Prénom et initiale du nom de l'auteur (l'email n'est jamais exposé). */
+    private static String displayName(Authentication auth) {
+        if (auth.getPrincipal() instanceof UserSecurity principal) {
+            User user = principal.getUser();
+            String lastname = user.getLastname();
+            return lastname == null || lastname.isBlank()
+                    ? user.getFirstname()
+                    : user.getFirstname() + " " + lastname.charAt(0) + ".";
+        }
+        return "Anonymous";
+    }
+}
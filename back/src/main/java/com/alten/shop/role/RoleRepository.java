@@ -1,9 +1,15 @@
 package com.alten.shop.role;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    /** Résultat en cache de requêtes (les rôles ne changent pas) : plus de SELECT à chaque inscription. */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.alten.shop.security;
 
 import com.alten.shop.security.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -46,6 +47,7 @@ public class SecurityConfig {
             "/reset-password",    // Réinit. mot de passe : POST /auth/reset-password?locale=…
             "/change-password",   // Changement de mot de passe :  POST /auth/change-password
             "/error",                 // Erreur par défaut Spring
+            "/products/*/images/*/*", // Images produit (balises <img> sans jeton ; l'envoi reste réservé à l'admin)
 
 
             // Swagger / OpenAPI access (autoriser l'accès sans authentification à la documentation API)
@@ -146,6 +148,10 @@ public class SecurityConfig {
         return http.cors(withDefaults())   //active CORS avec le bean
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Reprise d'une requête asynchrone (Mono/Flux, StreamingResponseBody) : déjà autorisée
+                        // lors du dispatch initial, le contexte JWT n'étant pas conservé d'un dispatch à l'autre
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                        .permitAll()
                         .requestMatchers(authorizedUrls)  // Autorise les URLs spécifiées dans authorizedUrls
                         .permitAll()   // Autorise l'accès sans restriction
                         /*
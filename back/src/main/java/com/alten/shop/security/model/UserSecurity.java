@@ -1,6 +1,7 @@
 package com.alten.shop.security.model;
 
 import com.alten.shop.user.User;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,6 +24,7 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class UserSecurity implements UserDetails, Serializable {
 
+    @Getter
     private final User user;
 
 
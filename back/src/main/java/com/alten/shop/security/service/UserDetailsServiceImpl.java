@@ -3,10 +3,12 @@ package com.alten.shop.security.service;
 import com.alten.shop.security.model.UserSecurity;
 import com.alten.shop.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implémentation personnalisée de UserDetailsService pour Spring Security.
@@ -27,8 +29,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * @throws UsernameNotFoundException si l'utilisateur n'existe pas
      */
     @Override
+    @Transactional(readOnly = true) // lecture pure : routée vers un réplica s'il en existe
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmailWithRoles(username)
+        // utilisateur seul (clé unique email), puis rôles depuis le cache L2 (collection User.roles + région Role) ;
+        // initialisés ici car UserSecurity est lu hors transaction par le filtre JWT
+        return userRepository.findByEmail(username)
+                .map(user -> {
+                    Hibernate.initialize(user.getRoles());
+                    return user;
+                })
                 .map(UserSecurity::new)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
     }
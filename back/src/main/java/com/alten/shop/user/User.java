@@ -8,6 +8,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -32,7 +34,9 @@ public class User extends BaseEntity {
     //Représente l'état d'activation de l'utilisateur.
     private boolean enabled;
 
+    //Identifiants des rôles en cache L2 (lus à chaque requête authentifiée), les rôles eux-mêmes dans la région Role
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,79 @@
+-- ==============================================
+-- V1 : schéma initial (équivalent à celui créé jusqu'ici par ddl-auto: update)
+-- Les bases existantes sont « baselinées » en version 1 (spring.flyway.baseline-on-migrate)
+-- et ne rejouent donc pas ce script.
+-- ==============================================
+
+CREATE TABLE role (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    version            BIGINT,
+    created_date       DATETIME(6)  NOT NULL,
+    last_modified_date DATETIME(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    name               VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_role_name UNIQUE (name)
+) ENGINE = InnoDB;
+
+CREATE TABLE user (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    version            BIGINT,
+    created_date       DATETIME(6)  NOT NULL,
+    last_modified_date DATETIME(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    firstname          VARCHAR(255) NOT NULL,
+    lastname           VARCHAR(255) NOT NULL,
+    email              VARCHAR(255) NOT NULL,
+    password           VARCHAR(255) NOT NULL,
+    enabled            BIT          NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES role (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE activation_code (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    version            BIGINT,
+    created_date       DATETIME(6)  NOT NULL,
+    last_modified_date DATETIME(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    code               VARCHAR(255) NOT NULL,
+    expires_at         DATETIME(6)  NOT NULL,
+    validated_at       DATETIME(6),
+    user_id            BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_activation_code_code UNIQUE (code),
+    CONSTRAINT uk_activation_code_user UNIQUE (user_id),
+    CONSTRAINT fk_activation_code_user FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    version            BIGINT,
+    created_date       DATETIME(6)  NOT NULL,
+    last_modified_date DATETIME(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    code               VARCHAR(255) NOT NULL,
+    name               VARCHAR(255) NOT NULL,
+    description        TEXT,
+    image              VARCHAR(255),
+    category           VARCHAR(255),
+    price              DOUBLE       NOT NULL,
+    quantity           INT          NOT NULL,
+    internal_reference VARCHAR(255),
+    shell_id           BIGINT,
+    inventory_status   ENUM ('INSTOCK', 'LOWSTOCK', 'OUTOFSTOCK') NOT NULL,
+    rating             DOUBLE       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_product_code UNIQUE (code)
+) ENGINE = InnoDB;
@@ -0,0 +1,16 @@
+-- ==============================================
+-- V2 : index de performance
+-- Chaque index est vérifié par QueryPlanTest (EXPLAIN sans full scan).
+-- ==============================================
+
+-- Listing par défaut et pagination par clé : ORDER BY created_date DESC, id DESC
+CREATE INDEX idx_product_created_date_id ON product (created_date, id);
+
+-- Filtres combinés de ProductSpecifications, triés sans filesort
+CREATE INDEX idx_product_category_created ON product (category, created_date, id);
+CREATE INDEX idx_product_status_created ON product (inventory_status, created_date, id);
+CREATE INDEX idx_product_category_status_created ON product (category, inventory_status, created_date, id);
+
+-- UserRepository.findByEmailWithRoles (chaque requête authentifiée) :
+-- l'email est déjà unique ; la jointure user_roles est couverte par (user_id, role_id)
+CREATE INDEX idx_user_roles_user_role ON user_roles (user_id, role_id);
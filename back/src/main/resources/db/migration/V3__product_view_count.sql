@@ -0,0 +1,10 @@
+-- ==============================================
+-- V3 : popularité des produits
+-- view_count n'est écrit que par le flush périodique de ProductViewCounter (view_count = view_count + n).
+-- ==============================================
+
+ALTER TABLE product ADD COLUMN view_count BIGINT NOT NULL DEFAULT 0;
+
+-- Tri « les plus consultés » (sort=POPULAR) : ORDER BY view_count DESC, id DESC, global ou par catégorie
+CREATE INDEX idx_product_view_count_id ON product (view_count, id);
+CREATE INDEX idx_product_category_view_count ON product (category, view_count, id);
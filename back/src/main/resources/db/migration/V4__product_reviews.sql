@@ -0,0 +1,29 @@
+-- ==============================================
+-- V4 : avis produit et agrégat de note maintenu incrémentalement
+-- product.rating = rating_sum / rating_count, mis à jour dans la transaction de chaque avis
+-- (jamais de AVG sur la table review).
+-- ==============================================
+
+ALTER TABLE product
+    ADD COLUMN rating_sum   BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rating_count BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE review (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    version            BIGINT,
+    created_date       DATETIME(6)  NOT NULL,
+    last_modified_date DATETIME(6),
+    created_by         VARCHAR(255) NOT NULL,
+    last_modified_by   VARCHAR(255),
+    product_id         BIGINT       NOT NULL,
+    rating             INT          NOT NULL,
+    comment            TEXT,
+    author_name        VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    -- un avis par utilisateur et par produit
+    CONSTRAINT uk_review_product_author UNIQUE (product_id, created_by),
+    CONSTRAINT fk_review_product FOREIGN KEY (product_id) REFERENCES product (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Liste des avis d'un produit, pagination par clé : ORDER BY created_date DESC, id DESC
+CREATE INDEX idx_review_product_created ON review (product_id, created_date, id);
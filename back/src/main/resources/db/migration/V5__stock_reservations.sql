@@ -0,0 +1,19 @@
+-- ==============================================
+-- V5 : réservations de stock temporaires (paniers en cours de paiement)
+-- Copie écrite en différé du registre en mémoire (StockReservationLedger) : relue au démarrage.
+-- Pas de clé étrangère : une réservation peut être écrite après la suppression de son produit ;
+-- les orphelines sont purgées au chargement.
+-- ==============================================
+
+CREATE TABLE stock_reservation (
+    id           CHAR(36)     NOT NULL,
+    product_id   BIGINT       NOT NULL,
+    quantity     INT          NOT NULL,
+    owner        VARCHAR(255) NOT NULL,
+    expires_at   BIGINT       NOT NULL, -- epoch en millisecondes (UTC), comme la roue d'expiration
+    created_date DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Purge des réservations expirées au démarrage
+CREATE INDEX idx_stock_reservation_expires ON stock_reservation (expires_at);
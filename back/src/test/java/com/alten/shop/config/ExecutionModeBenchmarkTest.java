@@ -0,0 +1,248 @@
+package com.alten.shop.config;
+
+import com.alten.shop.BackApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compare l'application en mode threads plateforme (Tomcat, 200 threads) et en mode threads virtuels
+ * ({@code spring.threads.virtual.enabled=true}), à forte concurrence, sur ses vrais endpoints et un vrai MySQL :
+ * <p>
+ * - {@code POST /auth/authenticate} : BCrypt, chargement de l'utilisateur (JDBC), génération du JWT ;<br>
+ * - {@code GET /products?page=n} au-delà des pages en cache : filtre JWT, requêtes JPA (page + total).<br>
+ * Débit, latences p50 / p99 et épinglages des threads virtuels ({@code jvm.threads.virtual.pinned}) sont journalisés
+ * par scénario.
+ * </p>
+ * Benchmark long, exclu du build par défaut (Docker requis) :
+ * {@code mvn test -Dtest=ExecutionModeBenchmarkTest -Dbenchmark=true [-Dbenchmark.concurrency=500]
+ * [-Dbenchmark.requests=5000] [-Dbenchmark.login-requests=500] [-Dbenchmark.min-ratio=0.9]}
+ * <br>Le test échoue si, pour un scénario, le débit en threads virtuels n'atteint pas {@code min-ratio} fois celui
+ * des threads plateforme (0.9 par défaut : BCrypt et le pool JDBC bornent les deux modes, les threads virtuels
+ * ne doivent pas régresser). Le générateur de charge tourne dans la même JVM : sur une machine à un ou deux cœurs,
+ * c'est lui qui sature en premier ({@code -Dbenchmark.min-ratio=0} pour ne garder que la mesure).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExecutionModeBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 500);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 5_000);
+    private static final int LOGIN_REQUESTS = Integer.getInteger("benchmark.login-requests", 500);
+    private static final double MIN_RATIO = Double.parseDouble(System.getProperty("benchmark.min-ratio", "0.9"));
+    private static final int PRODUCTS = 2_000;
+    private static final int PAGE_SIZE = 12;
+    /** Première page hors du cache de pages ({@code application.product.page-cache.max-page}). */
+    private static final int FIRST_UNCACHED_PAGE = 5;
+
+    private static final String EMAIL = "bench@test.com";
+    private static final String PASSWORD = "benchmark-password";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeBenchmarkTest.class);
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @Test
+    void compareVirtualAndPlatformThreads() throws Exception {
+        Map<String, Result> platform = run(false);
+        Map<String, Result> virtual = run(true);
+
+        log.info("Execution mode benchmark: {} concurrent clients, {} list requests, {} logins",
+                CONCURRENCY, REQUESTS, LOGIN_REQUESTS);
+        List<String> failures = new ArrayList<>();
+        for (String scenario : platform.keySet()) {
+            Result p = platform.get(scenario);
+            Result v = virtual.get(scenario);
+            double ratio = v.throughput() / p.throughput();
+            log.info("{}", p);
+            log.info("{}", v);
+            log.info("{}: throughput ratio (virtual / platform) {}", scenario, String.format("%.2f", ratio));
+
+            assertEquals(p.requests(), p.succeeded(), scenario + ", platform mode: failed requests");
+            assertEquals(v.requests(), v.succeeded(), scenario + ", virtual mode: failed requests");
+            if (ratio < MIN_RATIO) {
+                failures.add(String.format("%s: virtual / platform throughput ratio %.2f below %.2f", scenario, ratio, MIN_RATIO));
+            }
+        }
+        assertTrue(failures.isEmpty(), () -> String.join(System.lineSeparator(), failures));
+    }
+
+    /** Démarre l'application dans le mode demandé, la charge scénario par scénario, puis l'arrête. */
+    private Map<String, Result> run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads)) {
+            seed(context.getBean(JdbcTemplate.class));
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port + "/api/v1";
+            String mode = virtualThreads ? "virtual " : "platform";
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clients)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+
+                HttpRequest login = HttpRequest.newBuilder(URI.create(base + "/auth/authenticate"))
+                        .timeout(Duration.ofSeconds(60))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                        .build();
+                String token = token(http.send(login, HttpResponse.BodyHandlers.ofString()));
+                int lastPage = PRODUCTS / PAGE_SIZE - 1;
+                IntFunction<HttpRequest> listPage = i -> HttpRequest.newBuilder(URI.create(base + "/products?size=" + PAGE_SIZE
+                                + "&page=" + ThreadLocalRandom.current().nextInt(FIRST_UNCACHED_PAGE, lastPage)))
+                        .timeout(Duration.ofSeconds(60))
+                        .header("Authorization", "Bearer " + token)
+                        .build();
+
+                Map<String, Result> results = new LinkedHashMap<>();
+                results.put("login", scenario(context, clients, http, mode, "login", i -> login, LOGIN_REQUESTS));
+                results.put("product list", scenario(context, clients, http, mode, "product list", listPage, REQUESTS));
+                return results;
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(BackApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.r2dbc.url=r2dbc:mysql://" + mysql.getHost() + ":"
+                                + mysql.getMappedPort(MySQLContainer.MYSQL_PORT) + "/" + mysql.getDatabaseName(),
+                        "spring.r2dbc.username=" + mysql.getUsername(),
+                        "spring.r2dbc.password=" + mysql.getPassword(),
+                        "spring.sql.init.mode=never",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.springframework.web=INFO")
+                .run();
+    }
+
+    /** Utilisateur de test et catalogue, insérés une seule fois (le second démarrage réutilise la base). */
+    private static void seed(JdbcTemplate jdbc) {
+        if (jdbc.queryForObject("SELECT COUNT(*) FROM user WHERE email = ?", Integer.class, EMAIL) > 0) {
+            return;
+        }
+        jdbc.update("INSERT INTO role (name, created_date, created_by) VALUES ('USER', NOW(), 'benchmark')");
+        jdbc.update("INSERT INTO user (firstname, lastname, email, password, enabled, created_date, created_by) "
+                + "VALUES ('Bench', 'Mark', ?, ?, TRUE, NOW(), 'benchmark')", EMAIL, new BCryptPasswordEncoder().encode(PASSWORD));
+        jdbc.update("INSERT INTO user_roles (user_id, role_id) SELECT u.id, r.id FROM user u, role r "
+                + "WHERE u.email = ? AND r.name = 'USER'", EMAIL);
+        List<Object[]> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(new Object[]{"BENCH-" + i, "Benchmark product " + i, 1 + i % 500, i % 50});
+        }
+        jdbc.batchUpdate("INSERT INTO product (code, name, category, price, quantity, inventory_status, rating, "
+                + "created_date, created_by, version) VALUES (?, ?, 'Benchmark', ?, ?, 'INSTOCK', 0, NOW(), 'benchmark', 0)", products);
+    }
+
+    private static Result scenario(ConfigurableApplicationContext context, ExecutorService clients, HttpClient http,
+                                   String mode, String name, IntFunction<HttpRequest> request, int total) throws Exception {
+        load(clients, http, request, Math.max(total / 10, 1));
+        double pinnedBefore = pinned(context);
+        long start = System.nanoTime();
+        long[] latencies = load(clients, http, request, total);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+        return new Result(name, mode, total, sorted.length, sorted.length / seconds,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), (long) (pinned(context) - pinnedBefore));
+    }
+
+    /** Envoie {@code total} requêtes avec {@link #CONCURRENCY} clients simultanés ; latence en ns (-1 si échec). */
+    private static long[] load(ExecutorService clients, HttpClient http, IntFunction<HttpRequest> request, int total)
+            throws Exception {
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+
+        List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+        for (int c = 0; c < CONCURRENCY; c++) {
+            workers.add(clients.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request.apply(i), HttpResponse.BodyHandlers.discarding());
+                        latencies[i] = response.statusCode() == 200 ? System.nanoTime() - start : -1;
+                    } catch (Exception e) {
+                        latencies[i] = -1;
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return latencies;
+    }
+
+    /** Épinglages comptés par {@link VirtualThreadPinningMonitor} (0 en mode plateforme). */
+    private static double pinned(ConfigurableApplicationContext context) {
+        return context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static String token(HttpResponse<String> response) {
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Benchmark login failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) return Double.NaN;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(String scenario, String mode, int requests, int succeeded, double throughput,
+                          double p50Millis, double p99Millis, long pinned) {
+        @Override
+        public String toString() {
+            return String.format("%-12s %s : %8.0f req/s   p50 %7.1f ms   p99 %7.1f ms   (%d/%d ok, %d pinned)",
+                    scenario, mode, throughput, p50Millis, p99Millis, succeeded, requests, pinned);
+        }
+    }
+}
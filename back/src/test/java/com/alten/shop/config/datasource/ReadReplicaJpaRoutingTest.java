@@ -0,0 +1,149 @@
+package com.alten.shop.config.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routage primaire / réplica à travers la pile de l'application : service {@code @Transactional},
+ * {@link JpaTransactionManager} et EntityManager Hibernate, sur deux bases H2 embarquées distinctes.
+ * <p>
+ * Hibernate demande sa connexion dès le début d'une transaction readOnly, avant que l'attribut ne soit publié :
+ * le test vérifie que le proxy paresseux diffère bien le choix de la cible jusqu'à la première requête.
+ * </p>
+ */
+@SpringJUnitConfig(ReadReplicaJpaRoutingTest.Config.class)
+class ReadReplicaJpaRoutingTest {
+
+    @Autowired
+    RoleService service;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceCallGoesToReplica() {
+        assertEquals("replica", service.readRole());
+    }
+
+    @Test
+    void writeServiceCallGoesToPrimary() {
+        assertEquals("primary", service.touchAndReadRole());
+    }
+
+    @Test
+    void writerReadsOwnWritesFromPrimary() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("writer@test.com", null, List.of()));
+        assertEquals("replica", service.readRole());
+
+        service.touchAndReadRole();
+        assertEquals("primary", service.readRole());
+    }
+
+    /** Service transactionnel minimal : chaque méthode renvoie le rôle de la base sur laquelle elle a lu. */
+    static class RoleService {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional(readOnly = true)
+        public String readRole() {
+            return role();
+        }
+
+        @Transactional
+        public String touchAndReadRole() {
+            entityManager.createNativeQuery("UPDATE db_role SET touched = TRUE").executeUpdate();
+            return role();
+        }
+
+        private String role() {
+            return (String) entityManager.createNativeQuery("SELECT name FROM db_role").getSingleResult();
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean(destroyMethod = "shutdown")
+        EmbeddedDatabase primary() {
+            return database("primary");
+        }
+
+        @Bean(destroyMethod = "shutdown")
+        EmbeddedDatabase replica() {
+            return database("replica");
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(EmbeddedDatabase primary, EmbeddedDatabase replica) {
+            // même assemblage que DataSourceRoutingConfig
+            return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+                    primary, List.of(replica), new ReadYourWritesTracker(Duration.ofMinutes(1))));
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setPackagesToScan(RoleService.class.getPackageName());
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "none"));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        RoleService roleService() {
+            return new RoleService();
+        }
+
+        private static EmbeddedDatabase database(String role) {
+            EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .setName(role + "-" + UUID.randomUUID())
+                    .build();
+            JdbcTemplate jdbc = new JdbcTemplate(database);
+            jdbc.execute("CREATE TABLE db_role (name VARCHAR(20), touched BOOLEAN DEFAULT FALSE)");
+            jdbc.update("INSERT INTO db_role (name) VALUES (?)", role);
+            return database;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.alten.shop.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routage primaire / réplica vérifié sur deux bases H2 embarquées distinctes :
+ * chaque base contient une ligne indiquant son rôle.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(
+                primary, List.of(replica), new ReadYourWritesTracker(Duration.ofMinutes(1)));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        assertEquals("replica", readOnly.execute(status -> role()));
+    }
+
+    @Test
+    void readWriteTransactionGoesToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> role()));
+    }
+
+    @Test
+    void accessOutsideTransactionGoesToPrimary() {
+        assertEquals("primary", role());
+    }
+
+    @Test
+    void writerReadsOwnWritesFromPrimaryWhileOthersUseReplica() {
+        authenticate("admin@admin.com");
+        assertEquals("replica", readOnly.execute(status -> role()));
+
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE db_role SET touched = TRUE"));
+        assertEquals("primary", readOnly.execute(status -> role()));
+
+        authenticate("user@test.com");
+        assertEquals("replica", readOnly.execute(status -> role()));
+    }
+
+    @Test
+    void sharedReadsGoToPrimary() {
+        assertEquals("primary", ReadReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> role())));
+        assertEquals("replica", readOnly.execute(status -> role()));
+    }
+
+    @Test
+    void rolledBackWriteDoesNotOpenWindow() {
+        authenticate("admin@admin.com");
+        readWrite.executeWithoutResult(status -> {
+            jdbc.update("UPDATE db_role SET touched = TRUE");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", readOnly.execute(status -> role()));
+    }
+
+    private String role() {
+        return jdbc.queryForObject("SELECT name FROM db_role", String.class);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static EmbeddedDatabase database(String role) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(role + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE db_role (name VARCHAR(20), touched BOOLEAN DEFAULT FALSE)");
+        jdbc.update("INSERT INTO db_role (name) VALUES (?)", role);
+        return database;
+    }
+}
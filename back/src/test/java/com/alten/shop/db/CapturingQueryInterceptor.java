@@ -0,0 +1,73 @@
+package com.alten.shop.db;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Intercepteur du driver MySQL ({@code queryInterceptors=} dans l'URL JDBC) : enregistre les SELECT
+ * réellement envoyés au serveur, paramètres déjà liés, pendant {@link #capture(Runnable)}.
+ */
+public class CapturingQueryInterceptor implements QueryInterceptor {
+
+    /** SELECT précédé d'éventuels commentaires Hibernate ({@code use_sql_comments}), hors variables système. */
+    private static final Pattern USER_SELECT = Pattern.compile("(?is)^\\s*(/\\*.*?\\*/\\s*)*select\\s+(?!@@).*");
+
+    private static final List<String> captured = new CopyOnWriteArrayList<>();
+    private static volatile boolean recording;
+
+    /**
+     * Exécute l'action et renvoie les SELECT envoyés au serveur pendant son exécution, dans l'ordre.
+     */
+    public static List<String> capture(Runnable action) {
+        captured.clear();
+        recording = true;
+        try {
+            action.run();
+        } finally {
+            recording = false;
+        }
+        return new ArrayList<>(captured);
+    }
+
+    @Override
+    public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+        return this;
+    }
+
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        if (recording) {
+            String statement = sql.get();
+            if (statement != null && USER_SELECT.matcher(statement).matches()) {
+                captured.add(statement);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean executeTopLevelOnly() {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery, T originalResultSet,
+                                               ServerSession serverSession) {
+        return null;
+    }
+}
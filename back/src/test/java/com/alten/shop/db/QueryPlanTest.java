@@ -0,0 +1,203 @@
+package com.alten.shop.db;
+
+import com.alten.shop.product.ProductRepository;
+import com.alten.shop.product.ProductSpecifications;
+import com.alten.shop.product.pagination.ProductCursor;
+import com.alten.shop.product.pagination.ProductSort;
+import com.alten.shop.review.ReviewRepository;
+import com.alten.shop.user.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.alten.shop.product.Product.InventoryStatus.LOWSTOCK;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Vérifie, sur un vrai MySQL migré par Flyway, que les requêtes des repositories
+ * s'appuient sur un index (EXPLAIN sans {@code type = ALL}).
+ * <p>
+ * Chaque test appelle le repository comme le fait le service (Specifications, tris, limites) ;
+ * le SQL expliqué est celui que Hibernate a réellement envoyé, capturé par {@link CapturingQueryInterceptor}.
+ * La recherche libre {@code LIKE '%q%'} est volontairement absente : elle est servie par l'index en mémoire.
+ * </p>
+ * Test ignoré si Docker n'est pas disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUrlParam("queryInterceptors", CapturingQueryInterceptor.class.getName());
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    @TestConfiguration
+    static class Auditing {
+        @Bean
+        AuditorAware<String> auditAware() {
+            return () -> Optional.of("test");
+        }
+    }
+
+    @Autowired
+    ProductRepository products;
+
+    @Autowired
+    ReviewRepository reviews;
+
+    @Autowired
+    UserRepository users;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.update("INSERT INTO role (name, created_date, created_by) VALUES ('ADMIN', NOW(), 'test'), ('USER', NOW(), 'test')");
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            userRows.add(new Object[]{"First" + i, "Last" + i, "user" + i + "@test.com", "secret", Timestamp.valueOf(now)});
+        }
+        jdbc.batchUpdate("INSERT INTO user (firstname, lastname, email, password, enabled, created_date, created_by) "
+                + "VALUES (?, ?, ?, ?, 1, ?, 'test')", userRows);
+        jdbc.update("INSERT INTO user_roles (user_id, role_id) SELECT u.id, 2 FROM user u");
+
+        String[] statuses = {"INSTOCK", "LOWSTOCK", "OUTOFSTOCK"};
+        List<Object[]> productRows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            productRows.add(new Object[]{
+                    "PRD-" + i, "Product " + i, "Description " + i, "Category " + (i % 50),
+                    10.0 + i % 100, i % 30, statuses[i % 3], 4.0, Timestamp.valueOf(now.minusMinutes(i))
+            });
+        }
+        jdbc.batchUpdate("INSERT INTO product (code, name, description, category, price, quantity, inventory_status, "
+                + "rating, created_date, created_by, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'test', 0)", productRows);
+
+        List<Object[]> reviewRows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            reviewRows.add(new Object[]{
+                    1 + i % 50, 1 + i % 5, "user" + (i / 50) + "@test.com", "First" + i / 50 + " L.",
+                    Timestamp.valueOf(now.minusMinutes(i))
+            });
+        }
+        jdbc.batchUpdate("INSERT INTO review (product_id, rating, created_by, author_name, created_date, version) "
+                + "VALUES (?, ?, ?, ?, ?, 0)", reviewRows);
+
+        jdbc.execute("ANALYZE TABLE product, user, user_roles, role, review");
+    }
+
+    @Test
+    void defaultListingUsesCreatedDateIndex() {
+        assertIndexed(() -> products.findSummaries(ProductSpecifications.filteredBy(null, null, null),
+                PageRequest.of(0, 12, ProductSort.NEWEST.toSort())));
+    }
+
+    @Test
+    void keysetPageUsesCreatedDateIndex() {
+        ProductCursor cursor = new ProductCursor(LocalDateTime.now().minusMinutes(4000), 1000L);
+        assertIndexed(() -> products.findSummaries(
+                ProductSpecifications.filteredBy(null, null, null).and(ProductSpecifications.after(cursor)),
+                ProductSpecifications.SEEK_ORDER, 13));
+    }
+
+    @Test
+    void categoryFilterUsesCompositeIndex() {
+        assertIndexed(() -> products.findSummaries(ProductSpecifications.filteredBy("Category 7", null, null),
+                PageRequest.of(0, 12, ProductSort.NEWEST.toSort())));
+    }
+
+    @Test
+    void statusFilterUsesCompositeIndex() {
+        assertIndexed(() -> products.findSummaries(ProductSpecifications.filteredBy(null, LOWSTOCK, null),
+                PageRequest.of(0, 12, ProductSort.NEWEST.toSort())));
+    }
+
+    @Test
+    void categoryAndStatusFilterUsesCompositeIndex() {
+        assertIndexed(() -> products.findSummaries(ProductSpecifications.filteredBy("Category 7", LOWSTOCK, null),
+                PageRequest.of(0, 12, ProductSort.NEWEST.toSort())));
+    }
+
+    @Test
+    void popularListingUsesViewCountIndex() {
+        assertIndexed(() -> products.findSummaries(ProductSpecifications.filteredBy(null, null, null),
+                PageRequest.of(0, 12, ProductSort.POPULAR.toSort())));
+    }
+
+    @Test
+    void popularCategoryListingUsesCompositeIndex() {
+        assertIndexed(() -> products.findSummaries(ProductSpecifications.filteredBy("Category 7", null, null),
+                PageRequest.of(0, 12, ProductSort.POPULAR.toSort())));
+    }
+
+    @Test
+    void reviewKeysetPageUsesProductCreatedIndex() {
+        assertIndexed(() -> reviews.findPageAfter(7L, LocalDateTime.now().minusMinutes(2000), 2000L, Limit.of(11)));
+    }
+
+    @Test
+    void filteredCountUsesIndex() {
+        assertIndexed(() -> products.count(ProductSpecifications.filteredBy("Category 7", null, null)));
+    }
+
+    @Test
+    void productLookupByCodeUsesUniqueIndex() {
+        assertIndexed(() -> products.existsByCode("PRD-42"));
+        assertIndexed(() -> products.findByCode("PRD-42"));
+    }
+
+    @Test
+    void userWithRolesLookupUsesIndexes() {
+        assertIndexed(() -> users.findByEmailWithRoles("user42@test.com"));
+    }
+
+    /**
+     * Exécute l'appel de repository puis lance EXPLAIN sur chaque SELECT qu'il a envoyé.
+     */
+    private void assertIndexed(Runnable repositoryCall) {
+        List<String> statements = CapturingQueryInterceptor.capture(repositoryCall);
+        assertFalse(statements.isEmpty(), "No SELECT sent to the database");
+        for (String sql : statements) {
+            List<Map<String, Object>> plan = jdbc.queryForList("EXPLAIN " + sql);
+            for (Map<String, Object> row : plan) {
+                assertNotEquals("ALL", row.get("type"), () -> "Full scan on " + row.get("table") + " for: " + sql + "\n" + plan);
+                assertNotNull(row.get("key"), () -> "No index used on " + row.get("table") + " for: " + sql + "\n" + plan);
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.alten.shop.db;
+
+import com.alten.shop.exception.InsufficientStockException;
+import com.alten.shop.product.dto.ProductAvailabilityResponse;
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.reservation.StockReservationService;
+import com.alten.shop.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress de {@link ProductService#decrementStock} / {@link ProductService#incrementStock} sur un vrai MySQL :
+ * des centaines de threads sur un même produit, par le chemin complet du service (transaction, UPDATE conditionnel,
+ * relecture, événement après commit). Les achats directs ({@link StockReservationService#purchase} : réservation,
+ * décrément, fin de réservation) sont stressés de la même façon, pendant qu'un autre client retient des unités.
+ * <p>
+ * Vérifie que chaque unité est vendue une seule fois (acceptés + refus {@link InsufficientStockException} = tentatives),
+ * qu'aucune mise à jour n'est perdue, que le stock ne devient jamais négatif et que le statut d'inventaire suit la quantité.
+ * Pour les achats : les unités réservées ne sont jamais vendues et le registre en mémoire retrouve le stock de la base.
+ * Le débit obtenu est journalisé à titre indicatif (pas de seuil : il dépend de la machine).
+ * </p>
+ * Test ignoré si Docker n'est pas disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class StockAdjustmentConcurrencyTest {
+
+    private static final int THREADS = 200;
+    private static final int OPERATIONS_PER_THREAD = 10;
+    private static final int OPERATIONS = THREADS * OPERATIONS_PER_THREAD;
+
+    private static final Logger log = LoggerFactory.getLogger(StockAdjustmentConcurrencyTest.class);
+
+    private static final Authentication BUYER = new UsernamePasswordAuthenticationToken(
+            "buyer@test.com", null, List.of(new SimpleGrantedAuthority("USER")));
+    private static final Authentication ADMIN = new UsernamePasswordAuthenticationToken(
+            "admin@admin.com", null, List.of(new SimpleGrantedAuthority("ADMIN")));
+    private static final Authentication HOLDER = new UsernamePasswordAuthenticationToken(
+            "holder@test.com", null, List.of(new SimpleGrantedAuthority("USER")));
+
+    @Container
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 50);
+        registry.add("spring.r2dbc.url", () -> "r2dbc:mysql://" + mysql.getHost() + ":"
+                + mysql.getMappedPort(MySQLContainer.MYSQL_PORT) + "/" + mysql.getDatabaseName());
+        registry.add("spring.r2dbc.username", mysql::getUsername);
+        registry.add("spring.r2dbc.password", mysql::getPassword);
+        registry.add("spring.sql.init.mode", () -> "never");
+        registry.add("spring.jpa.show-sql", () -> false);
+    }
+
+    @Autowired
+    ProductService service;
+
+    @Autowired
+    StockReservationService reservations;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void concurrentDecrementsNeverOversell() throws Exception {
+        int initialStock = OPERATIONS / 2;
+        long id = insertProduct("HOT-DECREMENT", initialStock);
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long elapsed = hammer(thread -> {
+            SecurityContextHolder.getContext().setAuthentication(BUYER);
+            try {
+                ProductResponse product = service.decrementStock(id, 1);
+                assertTrue(product.getQuantity() >= 0, "negative stock: " + product.getQuantity());
+                accepted.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+            }
+        });
+        report("decrement only", elapsed);
+
+        Map<String, Object> row = row(id);
+        assertEquals(initialStock, accepted.get(), "every unit must be sold exactly once");
+        assertEquals(OPERATIONS - initialStock, rejected.get(), "every other attempt must be refused");
+        assertEquals(0, ((Number) row.get("quantity")).intValue());
+        assertEquals("OUTOFSTOCK", row.get("inventory_status"));
+        assertEquals((long) initialStock, ((Number) row.get("version")).longValue(), "one version per accepted update");
+    }
+
+    @Test
+    void concurrentPurchasesNeverSellReservedUnits() throws Exception {
+        int initialStock = OPERATIONS / 2;
+        int held = 100;
+        long id = insertProduct("HOT-PURCHASE", initialStock);
+        SecurityContextHolder.getContext().setAuthentication(HOLDER);
+        String reservationId;
+        try {
+            reservationId = reservations.reserve(id, held).getId();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long elapsed = hammer(thread -> {
+            SecurityContextHolder.getContext().setAuthentication(BUYER);
+            try {
+                ProductResponse product = reservations.purchase(id, 1);
+                assertTrue(product.getQuantity() >= held, "reserved units sold: " + product.getQuantity());
+                accepted.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+            }
+        });
+        report("purchases with a reservation held", elapsed);
+
+        int quantity = ((Number) row(id).get("quantity")).intValue();
+        assertEquals(initialStock - held, accepted.get(), "every unsold unit must be sold exactly once");
+        assertEquals(OPERATIONS - accepted.get(), rejected.get());
+        assertEquals(held, quantity, "reserved units must stay in stock");
+
+        SecurityContextHolder.getContext().setAuthentication(HOLDER);
+        try {
+            ProductAvailabilityResponse availability = reservations.availability(id);
+            assertEquals(quantity, availability.getStock().intValue(), "ledger stock must follow the database");
+            assertEquals(held, availability.getReserved().longValue(), "only the held reservation remains");
+
+            reservations.release(id, reservationId);
+            availability = reservations.availability(id);
+            assertEquals(0, availability.getReserved().longValue());
+            assertEquals(quantity, availability.getAvailable().longValue(), "available must return to stock");
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void concurrentMixedAdjustmentsLoseNoUpdate() throws Exception {
+        int initialStock = 100;
+        long id = insertProduct("HOT-MIXED", initialStock);
+
+        AtomicInteger netDelta = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long elapsed = hammer(thread -> {
+            boolean restock = thread % 2 == 0;
+            SecurityContextHolder.getContext().setAuthentication(restock ? ADMIN : BUYER);
+            try {
+                ProductResponse product = restock ? service.incrementStock(id, 3) : service.decrementStock(id, 2);
+                assertTrue(product.getQuantity() >= 0, "negative stock: " + product.getQuantity());
+                netDelta.addAndGet(restock ? 3 : -2);
+                accepted.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+            }
+        });
+        report("mixed increments/decrements", elapsed);
+
+        Map<String, Object> row = row(id);
+        int quantity = ((Number) row.get("quantity")).intValue();
+        assertEquals(OPERATIONS, accepted.get() + rejected.get());
+        assertEquals(initialStock + netDelta.get(), quantity, "lost update");
+        assertEquals(quantity == 0 ? "OUTOFSTOCK" : quantity < 10 ? "LOWSTOCK" : "INSTOCK", row.get("inventory_status"));
+        assertEquals((long) accepted.get(), ((Number) row.get("version")).longValue());
+    }
+
+    /**
+     * Lance {@code THREADS} threads démarrant ensemble, chacun répétant l'opération ; renvoie la durée en ns.
+     * Toute exception autre qu'un refus attendu fait échouer le test.
+     */
+    private static long hammer(ThreadOperation operation) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                            operation.run(thread);
+                        }
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void report(String scenario, long elapsedNanos) {
+        log.info("Stock adjustment ({}): {} threads, {} calls in {} ms ({} calls/s)", scenario, THREADS, OPERATIONS,
+                elapsedNanos / 1_000_000, String.format("%.0f", OPERATIONS / (elapsedNanos / 1e9)));
+    }
+
+    private long insertProduct(String code, int quantity) {
+        jdbc.update("INSERT INTO product (code, name, category, price, quantity, inventory_status, rating, "
+                + "created_date, created_by, version) VALUES (?, ?, 'Flash sale', 9.99, ?, 'INSTOCK', 0, NOW(), 'test', 0)",
+                code, code, quantity);
+        return jdbc.queryForObject("SELECT id FROM product WHERE code = ?", Long.class, code);
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbc.queryForMap("SELECT quantity, inventory_status, version FROM product WHERE id = ?", id);
+    }
+
+    @FunctionalInterface
+    private interface ThreadOperation {
+        void run(int thread);
+    }
+}
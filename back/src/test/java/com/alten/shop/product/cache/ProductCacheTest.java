@@ -0,0 +1,46 @@
+package com.alten.shop.product.cache;
+
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.event.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cache par identifiant : jamais remplacé par une version plus ancienne, jamais repeuplé par une lecture
+ * terminée après la suppression du produit.
+ */
+class ProductCacheTest {
+
+    private final ProductCache cache = new ProductCache(100, Duration.ofMinutes(10), Duration.ofMinutes(1),
+            new SimpleMeterRegistry());
+
+    @Test
+    void keepsTheNewestVersion() {
+        cache.putIfNewer(product(1, 2));
+        cache.putIfNewer(product(1, 1));
+        assertEquals(2L, cache.get(1L).orElseThrow().getVersion());
+
+        cache.onProductChanged(ProductChangedEvent.updated(product(1, 3)));
+        assertEquals(3L, cache.get(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void lateReadCannotResurrectADeletedProduct() {
+        ProductResponse readBeforeDelete = product(1, 4);
+        cache.putIfNewer(readBeforeDelete);
+
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+        cache.putIfNewer(readBeforeDelete);
+
+        assertEquals(Optional.empty(), cache.get(1L));
+    }
+
+    private static ProductResponse product(long id, long version) {
+        return ProductResponse.builder().id(id).version(version).name("Product " + id).build();
+    }
+}
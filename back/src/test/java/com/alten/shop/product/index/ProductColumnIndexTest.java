@@ -0,0 +1,158 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.index.ProductColumnIndex.Query;
+import com.alten.shop.product.index.ProductColumnIndex.Result;
+import com.alten.shop.product.pagination.ProductSort;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Filtres et tris de l'index en colonnes comparés à un filtrage naïf du même catalogue,
+ * sur plusieurs blocs de {@value ProductColumnIndex#BLOCK_SIZE} lignes, après ajouts, mises à jour et retraits.
+ */
+class ProductColumnIndexTest {
+
+    private static final String[] CATEGORIES = {"Peripherals", "Audio", "Accessories"};
+    private static final String[] STATUSES = {"INSTOCK", "LOWSTOCK", "OUTOFSTOCK"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final ProductColumnIndex index = new ProductColumnIndex();
+    private final Map<Long, ProductResponse> catalog = new HashMap<>();
+    private final Random random = new Random(42);
+
+    @Test
+    void queryAndCountMatchNaiveFilter() {
+        for (long id = 1; id <= 3 * ProductColumnIndex.BLOCK_SIZE; id++) {
+            put(randomProduct(id));
+        }
+        assertAllQueries();
+
+        // mises à jour (changement de prix, de note, de catégorie) et retraits répartis dans tous les blocs
+        for (int i = 0; i < 600; i++) {
+            long id = 1 + random.nextInt(3 * ProductColumnIndex.BLOCK_SIZE);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                catalog.remove(id);
+            } else {
+                put(randomProduct(id));
+            }
+        }
+        assertAllQueries();
+    }
+
+    @Test
+    void refineKeepsReceivedOrderUnlessSorted() {
+        put(product(1L, "Audio", "INSTOCK", 30.0, 4.0, 3));
+        put(product(2L, "Audio", "INSTOCK", 10.0, 2.0, 2));
+        put(product(3L, "Audio", "INSTOCK", 20.0, 5.0, 1));
+
+        List<Long> relevance = List.of(2L, 3L, 1L, 99L);
+        assertEquals(List.of(2L, 3L, 1L), index.refine(relevance, new Query(null, null, null, null, null, null)));
+        assertEquals(List.of(3L, 1L), index.refine(relevance, new Query(null, null, 15.0, null, null, null)));
+        assertEquals(List.of(3L, 1L), index.refine(relevance, new Query(null, null, null, null, 3.0, null)));
+        assertEquals(List.of(2L, 3L, 1L), index.refine(relevance, new Query(null, null, null, null, null, ProductSort.PRICE_ASC)));
+        assertEquals(List.of(1L, 2L, 3L), index.refine(relevance, new Query(null, null, null, null, null, ProductSort.NEWEST)));
+    }
+
+    @Test
+    void emptyCategoryAndPopularOrder() {
+        put(product(1L, "Audio", "INSTOCK", 30.0, 4.0, 1));
+
+        assertEquals(0, index.query(new Query("Unknown", null, null, null, null, null), 0, 10).total());
+        assertEquals(0, index.count(new Query("Unknown", null, null, null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.query(new Query(null, null, null, null, null, ProductSort.POPULAR), 0, 10));
+
+        index.remove(1L);
+        assertEquals(0, index.count(new Query("audio", null, null, null, null, null)));
+        put(product(2L, "Audio", "INSTOCK", 30.0, 4.0, 1));
+        index.clear();
+        assertEquals(0, index.count(new Query(null, null, null, null, null, null)));
+    }
+
+    private void assertAllQueries() {
+        String[] categories = {null, "peripherals", "AUDIO"};
+        String[] statuses = {null, "LOWSTOCK"};
+        Double[][] prices = {{null, null}, {20.0, null}, {null, 35.5}, {12.0, 14.0}};
+        Double[] ratings = {null, 3.5};
+        ProductSort[] sorts = {null, ProductSort.PRICE_ASC, ProductSort.PRICE_DESC, ProductSort.RATING_DESC};
+        int[][] pages = {{0, 12}, {30, 25}, {0, 0}, {10_000, 10}};
+
+        for (String category : categories) {
+            for (String status : statuses) {
+                for (Double[] price : prices) {
+                    for (Double rating : ratings) {
+                        for (ProductSort sort : sorts) {
+                            Query query = new Query(category, status, price[0], price[1], rating, sort);
+                            long[] expected = expected(query);
+                            assertEquals(expected.length, index.count(query), () -> "count " + query);
+                            for (int[] page : pages) {
+                                Result result = index.query(query, page[0], page[1]);
+                                long[] expectedPage = Arrays.copyOfRange(expected,
+                                        Math.min(page[0], expected.length), Math.min(page[0] + page[1], expected.length));
+                                assertEquals(expected.length, result.total(), () -> "total " + query);
+                                assertEquals(Arrays.toString(expectedPage), Arrays.toString(result.ids()),
+                                        () -> "page " + Arrays.toString(page) + " " + query);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Filtrage et tri naïfs du catalogue de référence. */
+    private long[] expected(Query query) {
+        Comparator<ProductResponse> order = switch (query.sort() != null ? query.sort() : ProductSort.NEWEST) {
+            case PRICE_ASC -> Comparator.comparing(ProductResponse::getPrice).thenComparing(ProductResponse::getId);
+            case PRICE_DESC -> Comparator.comparing(ProductResponse::getPrice).thenComparing(ProductResponse::getId).reversed();
+            case RATING_DESC -> Comparator.comparing(ProductResponse::getRating).thenComparing(ProductResponse::getId).reversed();
+            default -> Comparator.comparing(ProductResponse::getCreatedAt).thenComparing(ProductResponse::getId).reversed();
+        };
+        return catalog.values().stream()
+                .filter(p -> query.category() == null || p.getCategory().equalsIgnoreCase(query.category()))
+                .filter(p -> query.status() == null || p.getInventoryStatus().equals(query.status()))
+                .filter(p -> query.minPrice() == null || p.getPrice() >= query.minPrice())
+                .filter(p -> query.maxPrice() == null || p.getPrice() <= query.maxPrice())
+                .filter(p -> query.minRating() == null || p.getRating() >= query.minRating())
+                .sorted(order)
+                .mapToLong(ProductResponse::getId)
+                .toArray();
+    }
+
+    private void put(ProductResponse product) {
+        index.index(product);
+        catalog.put(product.getId(), product);
+    }
+
+    private ProductResponse randomProduct(long id) {
+        // peu de valeurs distinctes : nombreux ex aequo départagés par l'id
+        return product(id, CATEGORIES[random.nextInt(CATEGORIES.length)], STATUSES[random.nextInt(STATUSES.length)],
+                10 + random.nextInt(60) / 2.0, random.nextInt(11) / 2.0, random.nextInt(500));
+    }
+
+    private static ProductResponse product(Long id, String category, String status, double price, double rating,
+                                           int createdMinutes) {
+        return ProductResponse.builder()
+                .id(id)
+                .code("PRD-" + id)
+                .name("Product " + id)
+                .category(category)
+                .inventoryStatus(status)
+                .price(price)
+                .rating(rating)
+                .createdAt(EPOCH.plusMinutes(createdMinutes))
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recherche tolérante aux fautes : une correction par terme de 4 à 6 caractères, deux au-delà,
+ * inversions de caractères voisins comprises, termes courts et numériques à l'identique.
+ */
+class ProductFuzzyIndexTest {
+
+    private ProductFuzzyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFuzzyIndex();
+        index.index(product(1L, "PRD-1001", "Wireless Mouse", "Peripherals", "INSTOCK"));
+        index.index(product(2L, "PRD-1002", "Wired Keyboard", "Peripherals", "LOWSTOCK"));
+        index.index(product(3L, "PRD-1003", "Mouse Pad", "Accessories", "INSTOCK"));
+        index.index(product(4L, "PRD-2001", "Bluetooth Speaker", "Audio", "OUTOFSTOCK"));
+    }
+
+    @Test
+    void findsTermsWithOneTypo() {
+        assertEquals(List.of(1L), index.search("wirless mouse", null, null));
+        assertEquals(List.of(2L), index.search("keybaord", null, null));
+    }
+
+    @Test
+    void findsMidWordTransposition() {
+        // une inversion au milieu du mot détruit quatre trigrammes sur cinq
+        assertEquals(List.of(3L, 1L), index.search("mosue", null, null));
+        assertEquals(List.of(3L, 1L), index.search("muose", null, null));
+    }
+
+    @Test
+    void allowsTwoEditsOnLongTerms() {
+        assertEquals(List.of(4L), index.search("blutoth", null, null));
+        assertTrue(index.search("blxtxoth", null, null).isEmpty());
+    }
+
+    @Test
+    void exactMatchesRankBeforeCorrections() {
+        index.index(product(5L, "PRD-3001", "Mousse Cleaner", "Accessories", "INSTOCK"));
+
+        List<Long> ids = index.search("mouse", null, null);
+        assertEquals(List.of(3L, 1L, 5L), ids);
+    }
+
+    @Test
+    void shortAndNumericTermsAreNotCorrected() {
+        assertTrue(index.search("pda", null, null).isEmpty());
+        assertEquals(List.of(1L), index.search("1001", null, null));
+        assertTrue(index.search("1010", null, null).isEmpty());
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        assertTrue(index.search("mouse speaker", null, null).isEmpty());
+    }
+
+    @Test
+    void filtersByCategoryAndStatus() {
+        assertEquals(List.of(3L), index.search("mosue", "accessories", null));
+        assertEquals(List.of(1L), index.search("mosue", "Peripherals", "INSTOCK"));
+        assertTrue(index.search("mosue", "Peripherals", "LOWSTOCK").isEmpty());
+    }
+
+    @Test
+    void reindexAndRemoveUpdateResults() {
+        index.index(product(1L, "PRD-1001", "Wireless Trackball", "Peripherals", "INSTOCK"));
+        assertEquals(List.of(3L), index.search("mosue", null, null));
+        assertEquals(List.of(1L), index.search("trakball", null, null));
+
+        index.remove(3L);
+        assertTrue(index.search("mosue", null, null).isEmpty());
+
+        index.clear();
+        assertTrue(index.search("trackball", null, null).isEmpty());
+    }
+
+    @Test
+    void distanceCountsTranspositionAsOneEdit() {
+        assertEquals(1, ProductFuzzyIndex.distance("mouse", "muose", 2));
+        assertEquals(2, ProductFuzzyIndex.distance("mouse", "mosuw", 2));
+        assertTrue(ProductFuzzyIndex.distance("mouse", "table", 2) > 2);
+    }
+
+    private static ProductResponse product(Long id, String code, String name, String category, String status) {
+        return ProductResponse.builder()
+                .id(id)
+                .code(code)
+                .name(name)
+                .category(category)
+                .inventoryStatus(status)
+                .build();
+    }
+}
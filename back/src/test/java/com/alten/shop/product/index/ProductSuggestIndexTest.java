@@ -0,0 +1,113 @@
+package com.alten.shop.product.index;
+
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.dto.ProductSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Autocomplétion par arbre préfixe : clés (code, nom, chaque mot du nom), classement par note,
+ * meilleurs du nœud tenus à jour lors des ajouts, remplacements et retraits.
+ */
+class ProductSuggestIndexTest {
+
+    private final ProductSuggestIndex index = new ProductSuggestIndex();
+
+    @Test
+    void completesNameWordAndCode() {
+        index.index(product(1L, "AL-PRD-001", "Souris sans fil", 4.0));
+
+        assertEquals(List.of(1L), ids(index.suggest("sou", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("sans f", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("fil", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("al-prd", 10)));
+        assertTrue(index.suggest("ouris", 10).isEmpty());
+    }
+
+    @Test
+    void ignoresCaseAccentsAndPunctuation() {
+        index.index(product(1L, "AL-PRD-001", "Écran Incurvé 27\"", 4.0));
+
+        assertEquals(List.of(1L), ids(index.suggest("ECRAN", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("incurve", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("al prd 001", 10)));
+    }
+
+    @Test
+    void ranksByRatingThenName() {
+        index.index(product(1L, "A-1", "Mouse Basic", 3.0));
+        index.index(product(2L, "A-2", "Mouse Pro", 4.5));
+        index.index(product(3L, "A-3", "Mouse Air", 3.0));
+
+        assertEquals(List.of(2L, 3L, 1L), ids(index.suggest("mouse", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("mouse", 1)));
+    }
+
+    @Test
+    void keepsTopKAndPromotesNextBestOnRemoval() {
+        // 15 produits partageant le préfixe « cable », note croissante avec l'id
+        LongStream.rangeClosed(1, 15).forEach(id -> index.index(product(id, "C-" + id, "Cable " + id, id / 10.0)));
+
+        List<ProductSuggestion> top = index.suggest("cab", 50);
+        assertEquals(ProductSuggestIndex.TOP_K, top.size());
+        assertEquals(LongStream.iterate(15, id -> id - 1).limit(10).boxed().toList(), ids(top));
+
+        index.remove(15L);
+        index.remove(14L);
+        assertEquals(LongStream.iterate(13, id -> id - 1).limit(10).boxed().toList(), ids(index.suggest("cab", 50)));
+    }
+
+    @Test
+    void reindexReplacesOldKeysAndRating() {
+        index.index(product(1L, "A-1", "Wireless Mouse", 3.0));
+        index.index(product(2L, "A-2", "Wired Mouse", 4.0));
+
+        index.index(product(1L, "A-1", "Trackball", 5.0));
+
+        assertEquals(List.of(2L), ids(index.suggest("mouse", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("track", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("wi", 10)));
+        assertEquals(5.0, index.suggest("a-1", 1).get(0).getRating());
+    }
+
+    @Test
+    void removeAndClearDropAllPaths() {
+        index.index(product(1L, "A-1", "Wireless Mouse", 3.0));
+        index.index(product(2L, "A-2", "Wireless Keyboard", 4.0));
+
+        index.remove(2L);
+        assertEquals(List.of(1L), ids(index.suggest("wireless", 10)));
+        assertTrue(index.suggest("keyb", 10).isEmpty());
+
+        index.clear();
+        assertTrue(index.suggest("w", 10).isEmpty());
+    }
+
+    @Test
+    void blankPrefixOrLimitReturnsNothing() {
+        index.index(product(1L, "A-1", "Wireless Mouse", 3.0));
+
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        assertTrue(index.suggest(null, 10).isEmpty());
+        assertTrue(index.suggest("wire", 0).isEmpty());
+    }
+
+    private static List<Long> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::getId).toList();
+    }
+
+    private static ProductResponse product(Long id, String code, String name, double rating) {
+        return ProductResponse.builder()
+                .id(id)
+                .code(code)
+                .name(name)
+                .category("Peripherals")
+                .rating(rating)
+                .build();
+    }
+}
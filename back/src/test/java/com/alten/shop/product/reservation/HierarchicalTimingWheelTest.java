@@ -0,0 +1,86 @@
+package com.alten.shop.product.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Expiration par la roue temporelle : jamais en avance, au plus un tick en retard, annulation respectée,
+ * y compris pour les échéances rangées dans les niveaux supérieurs ou au-delà de l'horizon.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long TICK = 100;
+
+    @Test
+    void expiresWithinOneTickAndNeverEarly() {
+        // 2 niveaux de 4 cases : horizon de 16 ticks, les échéances lointaines sont redistribuées plusieurs fois
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 2, 2, START);
+        Random random = new Random(7);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = START + random.nextInt(100_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        int expired = 0;
+        for (long now = START; now <= START + 100_000 + TICK; now += 37) {
+            for (long deadline : wheel.advance(now)) {
+                assertTrue(deadline <= now, "expired early: " + deadline + " at " + now);
+                assertTrue(now - deadline < TICK + 37, "expired late: " + deadline + " at " + now);
+                expired++;
+            }
+        }
+        assertEquals(deadlines.size(), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledTimeoutsNeverExpire() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, 6, 4, START);
+        List<HierarchicalTimingWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            timeouts.add(wheel.schedule(i, START + i * 1_000L));
+        }
+        Set<Integer> cancelled = new HashSet<>();
+        for (int i = 0; i < 1_000; i += 3) {
+            assertTrue(wheel.cancel(timeouts.get(i)));
+            cancelled.add(i);
+        }
+        assertFalse(wheel.cancel(timeouts.get(0)), "already cancelled");
+
+        List<Integer> expired = wheel.advance(START + 1_000_000L);
+        assertEquals(1_000 - cancelled.size(), expired.size());
+        expired.forEach(i -> assertFalse(cancelled.contains(i), "cancelled timeout expired: " + i));
+        assertFalse(wheel.cancel(timeouts.get(1)), "already expired");
+    }
+
+    @Test
+    void pastDeadlineExpiresAtNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 6, 4, START);
+        wheel.schedule("late", START - 10_000);
+
+        assertEquals(List.of("late"), wheel.advance(START));
+    }
+
+    @Test
+    void deadlineBeyondHorizonIsKept() {
+        // horizon : 2^(3*2) = 64 ticks
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 3, 2, START);
+        long deadline = START + 1_000 * TICK;
+        wheel.schedule("far", deadline);
+
+        assertTrue(wheel.advance(deadline - 1).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(deadline));
+    }
+}
@@ -0,0 +1,261 @@
+package com.alten.shop.product.reservation;
+
+import com.alten.shop.exception.InsufficientStockException;
+import com.alten.shop.exception.ProductNotFoundException;
+import com.alten.shop.exception.StockReservationNotFoundException;
+import com.alten.shop.product.ProductJdbcRepository;
+import com.alten.shop.product.ProductJdbcRepository.StockLevel;
+import com.alten.shop.product.dto.ProductResponse;
+import com.alten.shop.product.event.ProductChangedEvent;
+import com.alten.shop.product.reservation.StockReservationJdbcRepository.PersistedHold;
+import com.alten.shop.product.reservation.StockReservationLedger.Availability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Registre des réservations sur des dépôts en mémoire : disponible, propriété, confirmation, expiration par la roue,
+ * écriture différée et relecture au redémarrage.
+ */
+class StockReservationLedgerTest {
+
+    private static final long PRODUCT = 42;
+    private static final Duration TTL = Duration.ofMillis(200);
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    private FakeProductRepository products;
+    private FakeReservationRepository reservations;
+    private StockReservationLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        products = new FakeProductRepository();
+        products.levels.put(PRODUCT, new StockLevel(10, 1));
+        reservations = new FakeReservationRepository(products);
+        ledger = start();
+    }
+
+    @Test
+    void reservationsAreBoundedByAvailableStock() {
+        ledger.reserve(PRODUCT, 6, "alice");
+
+        assertAvailability(10, 6);
+        assertThrows(InsufficientStockException.class, () -> ledger.reserve(PRODUCT, 5, "bob"));
+        ledger.reserve(PRODUCT, 4, "bob");
+        assertAvailability(10, 10);
+        assertEquals(1, products.reads, "stock read once, then served from memory");
+        assertThrows(ProductNotFoundException.class, () -> ledger.reserve(7, 1, "alice"));
+    }
+
+    @Test
+    void onlyTheOwnerReleasesAReservation() {
+        StockHold hold = ledger.reserve(PRODUCT, 3, "alice");
+
+        assertThrows(StockReservationNotFoundException.class, () -> ledger.release(PRODUCT, hold.id(), "bob"));
+        ledger.release(PRODUCT, hold.id(), "alice");
+        assertAvailability(10, 0);
+        assertThrows(StockReservationNotFoundException.class, () -> ledger.release(PRODUCT, hold.id(), "alice"));
+    }
+
+    @Test
+    void claimedReservationStaysReservedUntilCompleted() throws InterruptedException {
+        StockHold hold = ledger.reserve(PRODUCT, 4, "alice");
+        ledger.claim(PRODUCT, hold.id(), "alice");
+
+        assertThrows(StockReservationNotFoundException.class, () -> ledger.release(PRODUCT, hold.id(), "alice"));
+        assertThrows(StockReservationNotFoundException.class, () -> ledger.claim(PRODUCT, hold.id(), "alice"));
+        Thread.sleep(TTL.toMillis() + 100);
+        ledger.expire();
+        assertAvailability(10, 4);
+
+        ledger.complete(hold);
+        assertAvailability(10, 0);
+    }
+
+    @Test
+    void expiredReservationsAreReleased() throws InterruptedException {
+        ledger.reserve(PRODUCT, 5, "alice");
+        ledger.expire();
+        assertAvailability(10, 5);
+
+        Thread.sleep(TTL.toMillis() + 100);
+        ledger.expire();
+        assertAvailability(10, 0);
+        ledger.reserve(PRODUCT, 10, "bob");
+    }
+
+    @Test
+    void flushWritesCreationsAndDeletionsInBatches() {
+        StockHold kept = ledger.reserve(PRODUCT, 2, "alice");
+        StockHold released = ledger.reserve(PRODUCT, 3, "alice");
+        ledger.flush();
+        assertEquals(List.of(kept.id(), released.id()), List.copyOf(reservations.rows.keySet()));
+
+        ledger.release(PRODUCT, released.id(), "alice");
+        StockHold shortLived = ledger.reserve(PRODUCT, 1, "alice");
+        ledger.release(PRODUCT, shortLived.id(), "alice");
+        ledger.flush();
+
+        assertEquals(List.of(kept.id()), List.copyOf(reservations.rows.keySet()));
+        assertEquals(2, reservations.inserted, "a reservation released before the flush is never written");
+        assertEquals(1, reservations.deleted);
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        StockHold hold = ledger.reserve(PRODUCT, 2, "alice");
+        reservations.failing = true;
+        ledger.flush();
+        assertTrue(reservations.rows.isEmpty());
+
+        reservations.failing = false;
+        ledger.flush();
+        assertEquals(List.of(hold.id()), List.copyOf(reservations.rows.keySet()));
+    }
+
+    @Test
+    void reservationsSurviveARestart() {
+        StockHold kept = ledger.reserve(PRODUCT, 3, "alice");
+        ledger.reserve(PRODUCT, 2, "bob");
+        ledger.flush();
+        reservations.rows.put("expired", new StockHold("expired", PRODUCT, 5, "carol", System.currentTimeMillis() - 1));
+        products.levels.put(PRODUCT, new StockLevel(8, 2));
+        products.reads = 0;
+
+        StockReservationLedger restarted = start();
+
+        assertEquals(new Availability(8, 5), restarted.availability(PRODUCT));
+        assertEquals(0, products.reads, "stock restored with the holds");
+        assertFalse(reservations.rows.containsKey("expired"), "expired holds purged at startup");
+        restarted.release(PRODUCT, kept.id(), "alice");
+        restarted.flush();
+        assertEquals(1, reservations.rows.size());
+    }
+
+    @Test
+    void productChangesUpdateStockAndDropHoldsOfDeletedProducts() {
+        StockHold hold = ledger.reserve(PRODUCT, 4, "alice");
+
+        ledger.onProductChanged(ProductChangedEvent.updated(product(15, 3)));
+        assertAvailability(15, 4);
+        ledger.onProductChanged(ProductChangedEvent.updated(product(1, 2)));
+        assertAvailability(15, 4);
+
+        products.levels.remove(PRODUCT);
+        ledger.onProductChanged(ProductChangedEvent.deleted(PRODUCT));
+        assertThrows(StockReservationNotFoundException.class, () -> ledger.release(PRODUCT, hold.id(), "alice"));
+        assertThrows(ProductNotFoundException.class, () -> ledger.availability(PRODUCT));
+    }
+
+    private StockReservationLedger start() {
+        StockReservationLedger started = new StockReservationLedger(products, reservations, new NoOpTransactionManager(),
+                TTL, TICK, 100, new SimpleMeterRegistry());
+        started.load();
+        return started;
+    }
+
+    private void assertAvailability(int stock, long reserved) {
+        assertEquals(new Availability(stock, reserved), ledger.availability(PRODUCT));
+    }
+
+    private static ProductResponse product(int quantity, long version) {
+        return ProductResponse.builder().id(PRODUCT).quantity(quantity).version(version).build();
+    }
+
+    /** Colonnes quantity / version de la table product. */
+    private static final class FakeProductRepository extends ProductJdbcRepository {
+        final Map<Long, StockLevel> levels = new HashMap<>();
+        int reads;
+
+        FakeProductRepository() {
+            super(null);
+        }
+
+        @Override
+        public Optional<StockLevel> findStockLevel(long id) {
+            reads++;
+            return Optional.ofNullable(levels.get(id));
+        }
+    }
+
+    /** Table stock_reservation, dans l'ordre d'insertion. */
+    private static final class FakeReservationRepository extends StockReservationJdbcRepository {
+        final Map<String, StockHold> rows = new LinkedHashMap<>();
+        final FakeProductRepository products;
+        int inserted;
+        int deleted;
+        boolean failing;
+
+        FakeReservationRepository(FakeProductRepository products) {
+            super(null);
+            this.products = products;
+        }
+
+        @Override
+        public void insertAll(List<StockHold> holds, LocalDateTime createdAt, int batchSize) {
+            if (failing) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            holds.forEach(hold -> rows.put(hold.id(), hold));
+            inserted += holds.size();
+        }
+
+        @Override
+        public void deleteAll(List<String> ids, int batchSize) {
+            ids.forEach(rows::remove);
+            deleted += ids.size();
+        }
+
+        @Override
+        public int purge(long now) {
+            int before = rows.size();
+            rows.values().removeIf(hold -> hold.expiresAt() <= now || !products.levels.containsKey(hold.productId()));
+            return before - rows.size();
+        }
+
+        @Override
+        public void forEachHold(Consumer<PersistedHold> consumer) {
+            rows.values().forEach(hold -> {
+                StockLevel level = products.levels.get(hold.productId());
+                consumer.accept(new PersistedHold(hold, level.quantity(), level.version()));
+            });
+        }
+    }
+
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}